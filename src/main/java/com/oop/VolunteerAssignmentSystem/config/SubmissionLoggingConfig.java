@@ -0,0 +1,56 @@
+package com.oop.VolunteerAssignmentSystem.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.oop.VolunteerAssignmentSystem.controller.PreferenceController;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
+import com.oop.VolunteerAssignmentSystem.service.PreferenceService;
+import com.oop.VolunteerAssignmentSystem.service.PreferenceWriteBatcher;
+import com.oop.VolunteerAssignmentSystem.service.SubmissionLogSummary;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hands the log lines of the preference submission path to a background thread, so request threads do not wait for
+ * the console (or the file, with logging.file.*) during a submission spike. Everything else is logged as Boot sets it
+ * up. The worker drains the queue in batches; once it is 80% full INFO and below are dropped, while WARN and ERROR are
+ * kept, so a caller logging one waits only if the queue is completely full.
+ */
+@Configuration
+public class SubmissionLoggingConfig {
+    static final String APPENDER_NAME = "ASYNC_SUBMISSIONS";
+    static final List<Class<?>> SUBMISSION_PATH = List.of(PreferenceController.class, PreferenceService.class,
+            PreferenceWriteBatcher.class, InMemoryPreferenceRepository.class, SubmissionLogSummary.class);
+
+    public SubmissionLoggingConfig(@Value("${logging.submissions.async:true}") boolean async,
+                                   @Value("${logging.submissions.async-queue-size:8192}") int queueSize) {
+        if (async && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            wrap(context, queueSize);
+        }
+    }
+
+    private static void wrap(LoggerContext context, int queueSize) {
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        synchronized (context) {
+            if (context.getLogger(SUBMISSION_PATH.get(0)).getAppender(APPENDER_NAME) != null) {
+                return; // Already wrapped, e.g. by another application context in the same JVM
+            }
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName(APPENDER_NAME);
+            async.setQueueSize(queueSize);
+            async.setNeverBlock(false);
+            root.iteratorForAppenders().forEachRemaining(async::addAppender); // Console, and the file if there is one
+            async.start();
+            for (Class<?> type : SUBMISSION_PATH) {
+                Logger logger = context.getLogger(type);
+                logger.addAppender(async);
+                logger.setAdditive(false); // Only through the queue, not also directly via root
+            }
+        }
+    }
+}
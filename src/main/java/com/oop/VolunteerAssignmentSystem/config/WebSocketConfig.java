@@ -1,7 +1,10 @@
 package com.oop.VolunteerAssignmentSystem.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -9,6 +12,16 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    // Same switch as for Tomcat's request threads (spring.threads.virtual.enabled)
+    private final boolean virtualThreads;
+    // Upper bound of concurrently handled STOMP messages per channel when virtual threads are on
+    private final int virtualChannelConcurrency;
+
+    public WebSocketConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${websocket.virtual-threads.max-concurrency:4096}") int virtualChannelConcurrency) {
+        this.virtualThreads = virtualThreads;
+        this.virtualChannelConcurrency = virtualChannelConcurrency;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -21,4 +34,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws-assign") // The endpoint clients will connect to
                 .withSockJS(); // For fallback options if WebSocket is not available
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("stomp-outbound-"));
+        }
+    }
+
+    // A new virtual thread per message rather than a pool of them; the limit makes senders wait once that many are busy
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String namePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(namePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(virtualChannelConcurrency);
+        return executor;
+    }
 }
@@ -1,28 +1,100 @@
 package com.oop.VolunteerAssignmentSystem.controller;
 
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.CompactAssignmentResult;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.UnknownEventException;
 import com.oop.VolunteerAssignmentSystem.service.AssignmentService;
+import com.oop.VolunteerAssignmentSystem.service.GaParameterOverrides;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @Controller // Can be @RestController if no view is served directly from here
-@RequestMapping("/api/assignment")
+@RequestMapping({"/api/assignment", "/api/events/{eventId}/assignment"}) // No eventId means the default event
 public class AssignmentController {
     private final AssignmentService assignmentService;
 
-    public AssignmentController(AssignmentService assignmentService) {
+    private static final String FULL_FORMAT = "full";
+    private static final String COMPACT_FORMAT = "compact";
+
+    private final long maxDeadlineMillis;
+
+    public AssignmentController(AssignmentService assignmentService,
+                                @Value("${assignment.sync.max-deadline-ms:60000}") long maxDeadlineMillis) {
         this.assignmentService = assignmentService;
+        this.maxDeadlineMillis = maxDeadlineMillis;
     }
 
     // REST endpoint to trigger optimization
+    // Optional body: explicit partition of the catalog, e.g. {"service1": "siteA", "service2": "siteB"}
+    // Optional query parameters override the GA settings of this run only: parameters (fixed or adaptive),
+    // populationSize, maxGenerations, mutationRate, crossoverRate and tournamentSize
     @PostMapping("/optimize")
-    public ResponseEntity<String> triggerOptimization() {
-        assignmentService.triggerOptimization();
+    public ResponseEntity<String> triggerOptimization(@PathVariable(required = false) String eventId,
+                                                      GaParameterOverrides parameters,
+                                                      @RequestBody(required = false) Map<String, String> servicePartitionKeys) {
+        assignmentService.triggerOptimization(eventId == null ? EventRepositoryRegistry.DEFAULT_EVENT : eventId, servicePartitionKeys,
+                parameters);
         return ResponseEntity.ok("Optimization process started. Results will be broadcast.");
     }
 
+    // Synchronous variant for scripts and integrations: responds with the best plan found within deadlineMs.
+    // The request is handled asynchronously, so waiting callers do not hold a servlet thread.
+    // format=compact answers with a CompactAssignmentResult instead (errors keep the AssignmentResult shape).
+    // Takes the same GA overrides as /optimize.
+    @PostMapping("/optimize/sync")
+    public CompletableFuture<ResponseEntity<Object>> optimizeWithDeadline(@PathVariable(required = false) String eventId,
+                                                                          @RequestParam(defaultValue = "10000") long deadlineMs,
+                                                                          @RequestParam(defaultValue = FULL_FORMAT) String format,
+                                                                          GaParameterOverrides parameters,
+                                                                          @RequestBody(required = false) Map<String, String> servicePartitionKeys) {
+        if (deadlineMs <= 0 || deadlineMs > maxDeadlineMillis) {
+            throw new IllegalArgumentException("deadlineMs must be between 1 and " + maxDeadlineMillis);
+        }
+        if (!FULL_FORMAT.equals(format) && !COMPACT_FORMAT.equals(format)) {
+            throw new IllegalArgumentException("format must be " + FULL_FORMAT + " or " + COMPACT_FORMAT);
+        }
+        boolean compact = COMPACT_FORMAT.equals(format);
+        return assignmentService.optimizeWithin(eventId == null ? EventRepositoryRegistry.DEFAULT_EVENT : eventId,
+                        servicePartitionKeys, Duration.ofMillis(deadlineMs), parameters)
+                .thenApply(result -> ResponseEntity.ok(compact ? (Object) CompactAssignmentResult.of(result) : result))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    AssignmentResult errorResult = new AssignmentResult();
+                    if (cause instanceof TimeoutException) {
+                        errorResult.setMessage("No assignment available within " + deadlineMs + " ms.");
+                        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).<Object>body(errorResult);
+                    }
+                    errorResult.setMessage("Error during optimization: " + cause.getMessage());
+                    return ResponseEntity.internalServerError().<Object>body(errorResult);
+                });
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnknownEventException.class)
+    public ResponseEntity<String> handleUnknownEvent(UnknownEventException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
     // This controller is also a good place for @MessageMapping if you use STOMP over WebSocket
     // For simplicity, broadcasting is done from AssignmentService via SimpMessagingTemplate
 }
@@ -0,0 +1,44 @@
+package com.oop.VolunteerAssignmentSystem.controller;
+
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+    private final EventRepositoryRegistry eventRepositories;
+
+    public EventController(EventRepositoryRegistry eventRepositories) {
+        this.eventRepositories = eventRepositories;
+    }
+
+    @GetMapping
+    public Set<String> getEvents() {
+        return new TreeSet<>(eventRepositories.getEventIds());
+    }
+
+    // Creates an event with an empty catalog and no volunteers; 200 if it already exists, 201 otherwise.
+    // Every other /api/events/{eventId}/... endpoint answers 404 until then.
+    @PutMapping("/{eventId}")
+    public ResponseEntity<String> createEvent(@PathVariable String eventId) {
+        if (eventRepositories.createEvent(eventId)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body("Event " + eventId + " created.");
+        }
+        return ResponseEntity.ok("Event " + eventId + " already exists.");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -1,33 +1,49 @@
 package com.oop.VolunteerAssignmentSystem.controller;
 
 import com.oop.VolunteerAssignmentSystem.model.Preference;
-import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.UnknownEventException;
 import com.oop.VolunteerAssignmentSystem.service.PreferenceService;
+import com.oop.VolunteerAssignmentSystem.service.ServiceCatalogCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.Collection;
+import org.springframework.web.context.request.WebRequest;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
-@RequestMapping("/api/preferences")
+@RequestMapping({"/api/preferences", "/api/events/{eventId}/preferences"}) // No eventId means the default event
 public class PreferenceController {
     private static final Logger logger = LoggerFactory.getLogger(PreferenceController.class);
     private final PreferenceService preferenceService;
+    private final ServiceCatalogCache catalogCache;
 
-    public PreferenceController(PreferenceService preferenceService) {
+    public PreferenceController(PreferenceService preferenceService, ServiceCatalogCache catalogCache) {
         this.preferenceService = preferenceService;
+        this.catalogCache = catalogCache;
     }
 
+    // The services part comes pre-serialized from the catalog cache; clients that fetch the catalog from
+    // /api/services can pass includeServices=false. The ETag comes from the volunteer's preference version and the
+    // catalog version, so an unchanged response is answered with 304 without building it.
     @GetMapping("/initial-data")
-    public ResponseEntity<Map<String, Object>> getInitialData(@RequestParam String volunteerId) {
+    public ResponseEntity<byte[]> getInitialData(@PathVariable(required = false) String eventId,
+                                                 @RequestParam String volunteerId,
+                                                 @RequestParam(defaultValue = "true") boolean includeServices,
+                                                 WebRequest request) {
         logger.debug("Fetching initial data for volunteerId: {}", volunteerId);
-        Optional<Volunteer> volunteerOptional = preferenceService.getPreferencesForVolunteer(volunteerId);
-        Collection<ServiceDetails> services = preferenceService.getAllServices();
+        String etag = catalogCache.initialDataEtag(eventOrDefault(eventId), volunteerId, includeServices);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 with the ETag, already set on the response
+        }
+        Optional<Volunteer> volunteerOptional = preferenceService.getPreferencesForVolunteer(eventOrDefault(eventId), volunteerId);
 
         // Create a default empty volunteer if not found, so client doesn't get null for volunteer field
         Volunteer volunteerData = volunteerOptional.orElseGet(() -> {
@@ -38,28 +54,44 @@ public class PreferenceController {
             return newVol;
         });
 
-        return ResponseEntity.ok(Map.of("volunteer", volunteerData, "services", services));
+        byte[] body = catalogCache.initialData(eventOrDefault(eventId), volunteerData, includeServices);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache()) // Revalidate each time: preferences change while the page is open
+                .eTag(etag)
+                .body(body);
     }
 
 
+    // Answers once the submission's batch is stored, without holding a request thread while it waits
     @PostMapping("/{volunteerId}")
-    public ResponseEntity<?> submitPreferences(@PathVariable String volunteerId, @RequestBody Preference preferenceDTO) {
-        logger.info("Received preference submission for volunteerId: {} with preferences: {}", volunteerId, preferenceDTO.getRankedServiceIds());
+    public CompletableFuture<ResponseEntity<?>> submitPreferences(@PathVariable(required = false) String eventId,
+                                                                  @PathVariable String volunteerId, @RequestBody Preference preferenceDTO) {
+        logger.debug("Received preference submission for volunteerId: {} with preferences: {}", volunteerId, preferenceDTO.getRankedServiceIds());
         try {
-            // Ensure the DTO has the volunteerId, or set it from path variable if design allows
-            if (preferenceDTO.getVolunteerId() == null || !preferenceDTO.getVolunteerId().equals(volunteerId) ) {
-                // Depending on your DTO design, you might set it or validate it.
-                // For now, let's assume the DTO might not have it, or we prioritize path variable.
-                // preferenceDTO.setVolunteerId(volunteerId); // If your DTO has this field and it's mutable.
-            }
-            preferenceService.submitPreferences(volunteerId, preferenceDTO);
-            return ResponseEntity.ok("Preferences submitted successfully for " + volunteerId);
+            return preferenceService.submitPreferencesAsync(eventOrDefault(eventId), volunteerId, preferenceDTO)
+                    .<ResponseEntity<?>>thenApply(stored -> ResponseEntity.ok("Preferences submitted successfully for " + volunteerId))
+                    .exceptionally(e -> {
+                        logger.error("Internal error submitting preferences for {}: {}", volunteerId, e.getMessage(), e);
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error submitting preferences.");
+                    });
         } catch (IllegalArgumentException e) {
-            logger.warn("Invalid preference submission for {}: {}", volunteerId, e.getMessage());
-            return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (Exception e) {
-            logger.error("Internal error submitting preferences for {}: {}", volunteerId, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error submitting preferences.");
+            logger.debug("Invalid preference submission for {}: {}", volunteerId, e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnknownEventException.class)
+    public ResponseEntity<String> handleUnknownEvent(UnknownEventException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    private static String eventOrDefault(String eventId) {
+        return eventId == null ? EventRepositoryRegistry.DEFAULT_EVENT : eventId;
+    }
 }
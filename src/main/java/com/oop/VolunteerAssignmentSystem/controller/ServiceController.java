@@ -0,0 +1,138 @@
+package com.oop.VolunteerAssignmentSystem.controller;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDemand;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.repository.CatalogChange;
+import com.oop.VolunteerAssignmentSystem.repository.CatalogVersionConflictException;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.ServiceAlreadyExistsException;
+import com.oop.VolunteerAssignmentSystem.repository.UnknownEventException;
+import com.oop.VolunteerAssignmentSystem.repository.UnknownServiceException;
+import com.oop.VolunteerAssignmentSystem.service.PreferenceService;
+import com.oop.VolunteerAssignmentSystem.service.ServiceCatalogCache;
+import com.oop.VolunteerAssignmentSystem.service.ServiceCatalogService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping({"/api/services", "/api/events/{eventId}/services"}) // No eventId means the default event
+public class ServiceController {
+    private final PreferenceService preferenceService;
+    private final ServiceCatalogCache catalogCache;
+    private final ServiceCatalogService catalogService;
+
+    public ServiceController(PreferenceService preferenceService, ServiceCatalogCache catalogCache,
+                             ServiceCatalogService catalogService) {
+        this.preferenceService = preferenceService;
+        this.catalogCache = catalogCache;
+        this.catalogService = catalogService;
+    }
+
+    // The service catalog as cached bytes. Browsers and proxies may store it but must revalidate; the ETag only
+    // changes with the catalog version, so revalidation is answered with 304 and no body.
+    @GetMapping
+    public ResponseEntity<byte[]> getServices(@PathVariable(required = false) String eventId) {
+        ServiceCatalogCache.CatalogPayload catalog = catalogCache.catalog(eventOrDefault(eventId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.etag())
+                .body(catalog.json());
+    }
+
+    // Changes take an optional If-Match with the catalog ETag from GET; a change based on an outdated catalog gets 412.
+    // Responses carry the ETag of the catalog after the change.
+    @PostMapping
+    public ResponseEntity<ServiceDetails> createService(@PathVariable(required = false) String eventId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody ServiceDetails service) {
+        CatalogChange change = catalogService.createService(eventOrDefault(eventId), service, expectedVersion(eventId, ifMatch));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(catalogCache.catalog(eventOrDefault(eventId)).etag())
+                .body(change.current());
+    }
+
+    // Full replacement of name and maxVolunteers. A capacity change updates the current plan right away
+    // (broadcast on the assignments topic) instead of waiting for the next optimization.
+    @PutMapping("/{serviceId}")
+    public ResponseEntity<ServiceDetails> updateService(@PathVariable(required = false) String eventId, @PathVariable String serviceId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody ServiceDetails service) {
+        CatalogChange change = catalogService.updateService(eventOrDefault(eventId), serviceId, service, expectedVersion(eventId, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(catalogCache.catalog(eventOrDefault(eventId)).etag())
+                .body(change.current());
+    }
+
+    @DeleteMapping("/{serviceId}")
+    public ResponseEntity<Void> deleteService(@PathVariable(required = false) String eventId, @PathVariable String serviceId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        catalogService.deleteService(eventOrDefault(eventId), serviceId, expectedVersion(eventId, ifMatch));
+        return ResponseEntity.noContent()
+                .eTag(catalogCache.catalog(eventOrDefault(eventId)).etag())
+                .build();
+    }
+
+    // Which services are oversubscribed, before optimizing: demand per rank next to maxVolunteers
+    @GetMapping("/demand")
+    public List<ServiceDemand> getServiceDemand(@PathVariable(required = false) String eventId) {
+        return preferenceService.getServiceDemand(eventOrDefault(eventId));
+    }
+
+    // The catalog version behind an If-Match ETag; the repository re-checks it when applying the change
+    private long expectedVersion(String eventId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return InMemoryServiceRepository.ANY_VERSION;
+        }
+        ServiceCatalogCache.CatalogPayload catalog = catalogCache.catalog(eventOrDefault(eventId));
+        if (!ifMatch.trim().equals(catalog.etag())) {
+            throw new CatalogVersionConflictException(catalog.version());
+        }
+        return catalog.version();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnknownEventException.class)
+    public ResponseEntity<String> handleUnknownEvent(UnknownEventException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnknownServiceException.class)
+    public ResponseEntity<String> handleUnknownService(UnknownServiceException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceAlreadyExistsException.class)
+    public ResponseEntity<String> handleExistingService(ServiceAlreadyExistsException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(CatalogVersionConflictException.class)
+    public ResponseEntity<String> handleVersionConflict(CatalogVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage() + "; fetch it again and retry.");
+    }
+
+    private static String eventOrDefault(String eventId) {
+        return eventId == null ? EventRepositoryRegistry.DEFAULT_EVENT : eventId;
+    }
+}
@@ -8,5 +8,7 @@ import java.util.List;
 public class AssignmentResult {
     private List<Assignment> assignments;
     private double totalCost;
+    private double lowerBound; // No plan can cost less (see LowerBound)
+    private double optimalityGap; // (totalCost - lowerBound) / totalCost; 0 = proven optimal
     private String message; // e.g., "Optimization complete" or "Error"
 }
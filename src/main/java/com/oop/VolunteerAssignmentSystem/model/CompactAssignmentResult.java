@@ -0,0 +1,66 @@
+package com.oop.VolunteerAssignmentSystem.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded AssignmentResult for large events: each service ID is sent once, and the assignments are
+ * columns (row i is volunteers[i]) instead of an object per volunteer repeating field names and IDs.
+ * An assignment's cost depends only on its rank, so costs are sent once per rank rather than per row.
+ * The web client expands it back into an AssignmentResult (see decodeResult in app.js).
+ */
+@Data
+@NoArgsConstructor
+public class CompactAssignmentResult {
+    public static final String FORMAT = "compact-v1";
+
+    private String format = FORMAT;
+    private String message;
+    private double totalCost;
+    private double lowerBound;
+    private double optimalityGap;
+    private List<String> services = new ArrayList<>(); // Dictionary of the service IDs used below
+    private List<String> volunteers = new ArrayList<>();
+    private int[] serviceIndices = new int[0]; // Per row: index into services
+    private int[] preferenceRanks = new int[0]; // Per row: 0 if not preferred, 1 for 1st choice, etc.
+    private double[] costByRank = new double[0]; // Cost of an assignment at each rank (index 0 = not preferred)
+
+    public static CompactAssignmentResult of(AssignmentResult result) {
+        CompactAssignmentResult compact = new CompactAssignmentResult();
+        compact.setMessage(result.getMessage());
+        compact.setTotalCost(result.getTotalCost());
+        compact.setLowerBound(result.getLowerBound());
+        compact.setOptimalityGap(result.getOptimalityGap());
+        List<Assignment> assignments = result.getAssignments() == null ? List.of() : result.getAssignments();
+        int rows = assignments.size();
+        List<String> volunteers = new ArrayList<>(rows);
+        int[] serviceIndices = new int[rows];
+        int[] preferenceRanks = new int[rows];
+        Map<String, Integer> serviceIndex = new HashMap<>();
+        Map<Integer, Double> costs = new HashMap<>();
+        int maxRank = -1;
+        for (int i = 0; i < rows; i++) {
+            Assignment assignment = assignments.get(i);
+            volunteers.add(assignment.getVolunteerId());
+            serviceIndices[i] = serviceIndex.computeIfAbsent(assignment.getServiceId(), id -> {
+                compact.getServices().add(id);
+                return compact.getServices().size() - 1;
+            });
+            preferenceRanks[i] = assignment.getPreferenceRank();
+            costs.putIfAbsent(assignment.getPreferenceRank(), assignment.getCost());
+            maxRank = Math.max(maxRank, assignment.getPreferenceRank());
+        }
+        double[] costByRank = new double[maxRank + 1]; // Ranks no one got stay 0
+        costs.forEach((rank, cost) -> costByRank[rank] = cost);
+        compact.setVolunteers(volunteers);
+        compact.setServiceIndices(serviceIndices);
+        compact.setPreferenceRanks(preferenceRanks);
+        compact.setCostByRank(costByRank);
+        return compact;
+    }
+}
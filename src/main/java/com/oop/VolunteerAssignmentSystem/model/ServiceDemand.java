@@ -0,0 +1,20 @@
+package com.oop.VolunteerAssignmentSystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceDemand {
+    private String serviceId;
+    private String name;
+    private int maxVolunteers;
+    private int volunteers; // Volunteers ranking this service at any rank
+    // Key: preference rank (1, 2, ... Ns), Value: number of volunteers giving the service that rank
+    private Map<Integer, Integer> volunteersByRank;
+    private boolean oversubscribed; // More first choices than maxVolunteers: someone cannot get their first choice
+}
@@ -0,0 +1,19 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+
+/**
+ * One applied catalog change and the catalog version it produced.
+ * previous is null for a created service, current is null for a deleted one.
+ */
+public record CatalogChange(ServiceDetails previous, ServiceDetails current, long version) {
+
+    /** Same service before and after, with only maxVolunteers and/or the display name changed. */
+    public boolean isUpdate() {
+        return previous != null && current != null;
+    }
+
+    public boolean isCapacityChange() {
+        return isUpdate() && previous.getMaxVolunteers() != current.getMaxVolunteers();
+    }
+}
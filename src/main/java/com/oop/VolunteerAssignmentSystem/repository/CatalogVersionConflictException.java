@@ -0,0 +1,23 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+/**
+ * A catalog change was made against a catalog version that is no longer current (optimistic concurrency).
+ */
+public class CatalogVersionConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public CatalogVersionConflictException(long expectedVersion, long currentVersion) {
+        super("Service catalog is at version " + currentVersion + ", not " + expectedVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    /** The change was based on a catalog ETag that no longer matches. */
+    public CatalogVersionConflictException(long currentVersion) {
+        super("Service catalog has changed and is now at version " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,9 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+/**
+ * The service catalog and volunteer pool of one event.
+ */
+public record EventRepositories(String eventId,
+                                InMemoryServiceRepository serviceRepository,
+                                InMemoryPreferenceRepository preferenceRepository) {
+}
@@ -0,0 +1,64 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Event-scoped repositories. The "default" event is backed by the application's repository beans (with their
+ * dummy data), so the original un-scoped API keeps working. Other events are created explicitly and start empty.
+ */
+@Component
+public class EventRepositoryRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(EventRepositoryRegistry.class);
+    public static final String DEFAULT_EVENT = "default";
+    private static final Pattern EVENT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Map<String, EventRepositories> events = new ConcurrentHashMap<>();
+
+    public EventRepositoryRegistry(InMemoryServiceRepository defaultServiceRepository,
+                                   InMemoryPreferenceRepository defaultPreferenceRepository) {
+        events.put(DEFAULT_EVENT, new EventRepositories(DEFAULT_EVENT, defaultServiceRepository, defaultPreferenceRepository));
+    }
+
+    /**
+     * Returns the repositories of an event. A null eventId means the default event.
+     *
+     * @throws UnknownEventException if the event has not been created
+     */
+    public EventRepositories forEvent(String eventId) {
+        String id = eventId == null ? DEFAULT_EVENT : eventId;
+        EventRepositories repositories = events.get(id);
+        if (repositories == null) {
+            throw new UnknownEventException(id);
+        }
+        return repositories;
+    }
+
+    /**
+     * Creates an event with an empty catalog and no volunteers.
+     *
+     * @return false if the event already existed (it is left as it is)
+     */
+    public boolean createEvent(String eventId) {
+        if (eventId == null || !EVENT_ID_PATTERN.matcher(eventId).matches()) {
+            throw new IllegalArgumentException("Invalid event ID: " + eventId);
+        }
+        boolean[] created = {false};
+        events.computeIfAbsent(eventId, key -> {
+            logger.info("Creating repositories for event {}", key);
+            created[0] = true;
+            return new EventRepositories(key, InMemoryServiceRepository.empty(), InMemoryPreferenceRepository.empty());
+        });
+        return created[0];
+    }
+
+    public Set<String> getEventIds() {
+        return Set.copyOf(events.keySet());
+    }
+}
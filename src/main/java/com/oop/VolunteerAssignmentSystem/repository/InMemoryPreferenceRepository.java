@@ -4,12 +4,16 @@ import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.Random;
 
@@ -20,10 +24,15 @@ public class InMemoryPreferenceRepository {
     // Store Volunteer objects which contain their preferences
     // Key: volunteerId (String), Value: Volunteer object
     private final Map<String, Volunteer> volunteersWithPreferences = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Long> volunteerVersions = new ConcurrentHashMap<>(); // Saves per volunteer
+    private final AtomicLong submissionCount = new AtomicLong(); // Saved submissions, unlike version not per batch
+    private final ServiceDemandIndex demandIndex = new ServiceDemandIndex(); // Service -> volunteers ranking it
     private final Random random = new Random();
     private final int TOTAL_VOLUNTEERS_FOR_DUMMY_DATA = 30; // For constructor init
     private final int MAX_PREFERRED_SERVICES_FOR_DUMMY_DATA = 5; // For constructor init
 
+    @Autowired
     public InMemoryPreferenceRepository(InMemoryServiceRepository serviceRepository) {
         // THIS CONSTRUCTOR IS FOR INITIAL DUMMY DATA FOR TESTING/DEMO
         // Real user data will be added/updated via the save() method.
@@ -51,10 +60,19 @@ public class InMemoryPreferenceRepository {
             // Create a new Volunteer object or update if one was somehow pre-existing (unlikely here)
             Volunteer dummyVolunteer = new Volunteer(volunteerId, "Dummy Volunteer " + i, rankedPreferencesMap);
             volunteersWithPreferences.put(volunteerId, dummyVolunteer);
+            demandIndex.replace(volunteerId, null, rankedPreferencesMap);
         }
         logger.info("Generated dummy preferences for {} volunteers.", volunteersWithPreferences.size());
     }
 
+    private InMemoryPreferenceRepository() {
+    }
+
+    /** A volunteer pool without the dummy volunteers, for events created through the API. */
+    public static InMemoryPreferenceRepository empty() {
+        return new InMemoryPreferenceRepository();
+    }
+
     /**
      * Saves or updates the preferences for a specific volunteer based on user submission.
      * This method handles REAL user data and will overwrite any dummy data for the given volunteerId.
@@ -72,24 +90,62 @@ public class InMemoryPreferenceRepository {
             throw new IllegalArgumentException("Preference data or ranked service IDs cannot be null.");
         }
 
-        // Convert the list of ranked service IDs from the DTO into the map structure used by the Volunteer model
-        Map<Integer, String> newRankedPreferences = new ConcurrentHashMap<>();
-        List<String> submittedRankedIds = preferenceDTO.getRankedServiceIds();
-        for (int i = 0; i < submittedRankedIds.size(); i++) {
-            newRankedPreferences.put(i + 1, submittedRankedIds.get(i)); // Rank is 1-based
-        }
+        saveAll(Map.of(volunteerId, preferenceDTO.getRankedServiceIds()));
+    }
+
+    /**
+     * Applies a batch of submissions (volunteerId -> ranked service IDs) as one update: the version is bumped once
+     * for the whole batch. Each volunteer gets a new Volunteer object rather than an in-place update, so a snapshot
+     * taken by findAllVolunteersWithPreferences (e.g. by a running optimization) never changes under its reader.
+     */
+    public void saveAll(Map<String, List<String>> rankedServiceIdsByVolunteer) {
+        for (Map.Entry<String, List<String>> submission : rankedServiceIdsByVolunteer.entrySet()) {
+            String volunteerId = submission.getKey();
+            // Convert the list of ranked service IDs into the map structure used by the Volunteer model
+            Map<Integer, String> newRankedPreferences = new HashMap<>();
+            List<String> submittedRankedIds = submission.getValue();
+            for (int i = 0; i < submittedRankedIds.size(); i++) {
+                newRankedPreferences.put(i + 1, submittedRankedIds.get(i)); // Rank is 1-based
+            }
 
-        // Get existing volunteer or create a new one if this is the first time we see this ID
-        Volunteer volunteer = volunteersWithPreferences.getOrDefault(volunteerId, new Volunteer());
-        volunteer.setId(volunteerId);
-        // If the name is not set from client or known, use volunteerId or a default
-        if (volunteer.getName() == null || volunteer.getName().startsWith("Dummy Volunteer")) {
-            volunteer.setName("Volunteer " + volunteerId); // Or just use the ID as name
+            volunteersWithPreferences.compute(volunteerId, (id, existing) -> {
+                // If the name is not set from client or known, use volunteerId or a default
+                String name = existing == null || existing.getName() == null || existing.getName().startsWith("Dummy Volunteer")
+                        ? "Volunteer " + volunteerId
+                        : existing.getName();
+                // Inside compute, so index updates for one volunteer happen in the same order as the saves
+                demandIndex.replace(volunteerId, existing == null ? null : existing.getPreferredServicesRanks(), newRankedPreferences);
+                return new Volunteer(volunteerId, name, Collections.unmodifiableMap(newRankedPreferences));
+            });
+            // After the new preferences are visible, so a reader of the version never gets older preferences with it
+            volunteerVersions.merge(volunteerId, 1L, Long::sum);
+            logger.debug("Saved/Updated REAL preferences for volunteer {}: {}", volunteerId, newRankedPreferences);
         }
-        volunteer.setPreferredServicesRanks(newRankedPreferences); // Set the NEW preferences
+        submissionCount.addAndGet(rankedServiceIdsByVolunteer.size());
+        version.incrementAndGet();
+    }
+
+    /** Incremented once per saved batch; readers can tell whether anything changed since they last looked. */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Incremented on every save of this volunteer's preferences, 0 if none was saved since startup; readers can tell
+     * whether this volunteer's preferences changed without being affected by anyone else's submissions.
+     */
+    public long getVersion(String volunteerId) {
+        return volunteerVersions.getOrDefault(volunteerId, 0L);
+    }
+
+    /** Submissions saved so far (a batch counts once per volunteer in it); readers can tell how much changed. */
+    public long getSubmissionCount() {
+        return submissionCount.get();
+    }
 
-        volunteersWithPreferences.put(volunteerId, volunteer); // Store/update the volunteer object
-        logger.info("Saved/Updated REAL preferences for volunteer {}: {}", volunteerId, newRankedPreferences);
+    /** Per-service demand, updated on every save. */
+    public ServiceDemandIndex getDemandIndex() {
+        return demandIndex;
     }
 
     public Optional<Volunteer> findById(String volunteerId) {
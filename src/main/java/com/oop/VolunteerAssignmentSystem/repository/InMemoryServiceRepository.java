@@ -8,14 +8,26 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
 @Repository
 public class InMemoryServiceRepository {
+    /** Expected version that skips the optimistic concurrency check. */
+    public static final long ANY_VERSION = -1;
+
     private final Map<String, ServiceDetails> services = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
     private final Random random = new Random();
 
     public InMemoryServiceRepository() {
+        this(true);
+    }
+
+    private InMemoryServiceRepository(boolean dummyServices) {
+        if (!dummyServices) {
+            return;
+        }
         // Initialize 10 services as per project description
         IntStream.rangeClosed(1, 10).forEach(i -> {
             String serviceId = "service" + i;
@@ -25,6 +37,11 @@ public class InMemoryServiceRepository {
         });
     }
 
+    /** A catalog without the dummy services, for events created through the API. */
+    public static InMemoryServiceRepository empty() {
+        return new InMemoryServiceRepository(false);
+    }
+
     public Collection<ServiceDetails> findAll() {
         return services.values();
     }
@@ -33,7 +50,75 @@ public class InMemoryServiceRepository {
         return Optional.ofNullable(services.get(id));
     }
 
+    /** Adds or replaces a service. A copy is stored, so later changes to the argument do not leak into the catalog. */
+    public synchronized void save(ServiceDetails service) {
+        services.put(service.getId(), copyOf(service));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Adds a new service.
+     *
+     * @param expectedVersion catalog version the change was made against, or ANY_VERSION
+     * @throws ServiceAlreadyExistsException if a service with that ID already exists
+     */
+    public synchronized CatalogChange create(ServiceDetails service, long expectedVersion) {
+        checkVersion(expectedVersion);
+        if (services.containsKey(service.getId())) {
+            throw new ServiceAlreadyExistsException(service.getId());
+        }
+        ServiceDetails created = copyOf(service);
+        services.put(created.getId(), created);
+        return new CatalogChange(null, created, version.incrementAndGet());
+    }
+
+    /**
+     * Replaces an existing service's name and capacity.
+     *
+     * @throws UnknownServiceException if there is no service with that ID
+     */
+    public synchronized CatalogChange update(ServiceDetails service, long expectedVersion) {
+        checkVersion(expectedVersion);
+        ServiceDetails previous = services.get(service.getId());
+        if (previous == null) {
+            throw new UnknownServiceException(service.getId());
+        }
+        ServiceDetails updated = copyOf(service);
+        services.put(updated.getId(), updated);
+        return new CatalogChange(previous, updated, version.incrementAndGet());
+    }
+
+    /**
+     * Removes a service. Preferences that rank it stay as they are; the optimizer ignores unknown service IDs.
+     *
+     * @throws UnknownServiceException if there is no service with that ID
+     */
+    public synchronized CatalogChange delete(String serviceId, long expectedVersion) {
+        checkVersion(expectedVersion);
+        ServiceDetails previous = services.remove(serviceId);
+        if (previous == null) {
+            throw new UnknownServiceException(serviceId);
+        }
+        return new CatalogChange(previous, null, version.incrementAndGet());
+    }
+
+    /** Catalog version: incremented on every change to the services and on nothing else. */
+    public long getVersion() {
+        return version.get();
+    }
+
     public int getNumberOfServices() {
         return services.size();
     }
-}
\ No newline at end of file
+
+    private void checkVersion(long expectedVersion) {
+        if (expectedVersion != ANY_VERSION && expectedVersion != version.get()) {
+            throw new CatalogVersionConflictException(expectedVersion, version.get());
+        }
+    }
+
+    // Stored services are never changed in place, so snapshots taken from findAll stay as they were
+    private static ServiceDetails copyOf(ServiceDetails service) {
+        return new ServiceDetails(service.getId(), service.getName(), service.getMaxVolunteers());
+    }
+}
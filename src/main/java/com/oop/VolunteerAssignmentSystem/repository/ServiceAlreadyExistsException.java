@@ -0,0 +1,11 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+/**
+ * A service was created with an ID the event's catalog already has.
+ */
+public class ServiceAlreadyExistsException extends RuntimeException {
+
+    public ServiceAlreadyExistsException(String serviceId) {
+        super("Service " + serviceId + " already exists.");
+    }
+}
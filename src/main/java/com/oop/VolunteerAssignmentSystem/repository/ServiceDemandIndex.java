@@ -0,0 +1,87 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index of one event's preferences: for each service, the volunteers who rank it and how many rank it
+ * 1st, 2nd, ... It is kept up to date by InMemoryPreferenceRepository on every save, so reading demand costs
+ * O(services) instead of a scan over all volunteers.
+ * <p>
+ * A volunteer counts once per service, at the best rank they gave it (the optimizer treats duplicates the same way).
+ */
+public final class ServiceDemandIndex {
+
+    /** Demand for one service: how many volunteers rank it, by rank. */
+    public record Demand(int volunteers, SortedMap<Integer, Integer> volunteersByRank) {
+        public int atRank(int rank) {
+            return volunteersByRank.getOrDefault(rank, 0);
+        }
+    }
+
+    private static final class Entry {
+        private final Set<String> volunteerIds = new HashSet<>();
+        private final SortedMap<Integer, Integer> countsByRank = new TreeMap<>();
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /** Moves a volunteer's contribution from their previous ranking (null if new) to the current one. */
+    synchronized void replace(String volunteerId, Map<Integer, String> previousRanks, Map<Integer, String> currentRanks) {
+        bestRanks(previousRanks).forEach((serviceId, rank) -> {
+            Entry entry = entries.get(serviceId);
+            if (entry == null) {
+                return;
+            }
+            entry.volunteerIds.remove(volunteerId);
+            entry.countsByRank.computeIfPresent(rank, (r, count) -> count > 1 ? count - 1 : null);
+            if (entry.volunteerIds.isEmpty()) {
+                entries.remove(serviceId);
+            }
+        });
+        bestRanks(currentRanks).forEach((serviceId, rank) -> {
+            Entry entry = entries.computeIfAbsent(serviceId, id -> new Entry());
+            entry.volunteerIds.add(volunteerId);
+            entry.countsByRank.merge(rank, 1, Integer::sum);
+        });
+    }
+
+    public synchronized Demand demand(String serviceId) {
+        Entry entry = entries.get(serviceId);
+        return entry == null ? new Demand(0, Collections.emptySortedMap()) : toDemand(entry);
+    }
+
+    /** Demand of every service ranked by at least one volunteer. */
+    public synchronized Map<String, Demand> snapshot() {
+        Map<String, Demand> demand = new HashMap<>();
+        entries.forEach((serviceId, entry) -> demand.put(serviceId, toDemand(entry)));
+        return demand;
+    }
+
+    public synchronized Set<String> volunteersRanking(String serviceId) {
+        Entry entry = entries.get(serviceId);
+        return entry == null ? Set.of() : Set.copyOf(entry.volunteerIds);
+    }
+
+    private static Demand toDemand(Entry entry) {
+        return new Demand(entry.volunteerIds.size(), Collections.unmodifiableSortedMap(new TreeMap<>(entry.countsByRank)));
+    }
+
+    // Service ID -> best rank; ranks below 1 are ignored as in AssignmentProblem
+    private static Map<String, Integer> bestRanks(Map<Integer, String> ranks) {
+        Map<String, Integer> best = new HashMap<>();
+        if (ranks != null) {
+            ranks.forEach((rank, serviceId) -> {
+                if (rank != null && rank > 0 && serviceId != null) {
+                    best.merge(serviceId, rank, Math::min);
+                }
+            });
+        }
+        return best;
+    }
+}
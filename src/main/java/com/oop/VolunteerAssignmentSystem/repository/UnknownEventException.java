@@ -0,0 +1,11 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+/**
+ * The event has not been created (see EventRepositoryRegistry.createEvent).
+ */
+public class UnknownEventException extends RuntimeException {
+
+    public UnknownEventException(String eventId) {
+        super("Event " + eventId + " does not exist.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.oop.VolunteerAssignmentSystem.repository;
+
+/**
+ * The event's catalog has no service with that ID.
+ */
+public class UnknownServiceException extends RuntimeException {
+
+    public UnknownServiceException(String serviceId) {
+        super("Service " + serviceId + " does not exist.");
+    }
+}
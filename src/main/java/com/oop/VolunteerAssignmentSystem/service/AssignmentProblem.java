@@ -0,0 +1,279 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.Assignment;
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Integer encoding of one optimization run.
+ * Volunteers and services are addressed by their position in the lists given to the constructor,
+ * so a gene is just the index of the service assigned to a volunteer.
+ */
+final class AssignmentProblem {
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentProblem.class);
+
+    static final int ND_PENALTY_SQUARED_BASE = 10; // For 10 * Nd^2, where Nd is number of services
+    static final double CAPACITY_PENALTY = 1000; // Per volunteer above a service's maxVolunteers
+
+    private final List<Volunteer> volunteers;
+    private final List<ServiceDetails> services;
+    private final Map<String, Integer> serviceIndexById = new HashMap<>();
+    private final Map<String, Integer> volunteerIndexById = new HashMap<>();
+    private final int[] capacities;
+    // Preferred service indices of each volunteer, best rank first, with the matching ranks and gene costs;
+    // every other service costs nonPreferredCost, so no volunteers x services table is kept
+    private final int[][] preferredServices;
+    private final int[][] preferredRanks;
+    private final double[][] preferredCosts;
+    private final double nonPreferredCost;
+    private final int penaltyServiceCount;
+    // Volunteers ranking each service at any rank, as counted by the event's ServiceDemandIndex; null if not given
+    private final int[] demand;
+
+    AssignmentProblem(List<Volunteer> volunteers, List<ServiceDetails> services) {
+        this(volunteers, services, services.size());
+    }
+
+    /**
+     * @param penaltyServiceCount Nd used for the non-preferred penalty; differs from services.size()
+     *                            when this problem is only a part of a larger catalog.
+     */
+    AssignmentProblem(List<Volunteer> volunteers, List<ServiceDetails> services, int penaltyServiceCount) {
+        this(volunteers, services, penaltyServiceCount, null);
+    }
+
+    /**
+     * @param serviceDemand volunteers ranking each service by service ID (see ServiceDemandIndex), used to seed the
+     *                      initial population; null if not known, and services missing from it count as 0
+     */
+    AssignmentProblem(List<Volunteer> volunteers, List<ServiceDetails> services, int penaltyServiceCount,
+                      Map<String, Integer> serviceDemand) {
+        this.volunteers = volunteers;
+        this.services = services;
+        this.capacities = new int[services.size()];
+        for (int s = 0; s < services.size(); s++) {
+            serviceIndexById.put(services.get(s).getId(), s);
+            capacities[s] = services.get(s).getMaxVolunteers();
+        }
+        this.penaltyServiceCount = penaltyServiceCount;
+        this.nonPreferredCost = (double) ND_PENALTY_SQUARED_BASE * penaltyServiceCount * penaltyServiceCount;
+
+        int serviceCount = services.size();
+        this.preferredServices = new int[volunteers.size()][];
+        this.preferredRanks = new int[volunteers.size()][];
+        this.preferredCosts = new double[volunteers.size()][];
+        this.demand = serviceDemand == null ? null : new int[serviceCount];
+        if (serviceDemand != null) {
+            for (int s = 0; s < serviceCount; s++) {
+                demand[s] = serviceDemand.getOrDefault(services.get(s).getId(), 0);
+            }
+        }
+        for (int v = 0; v < volunteers.size(); v++) {
+            volunteerIndexById.put(volunteers.get(v).getId(), v);
+            // Lowest rank wins if a service appears twice; unknown service IDs are ignored
+            Map<Integer, Integer> rankByService = new HashMap<>();
+            Map<Integer, String> ranks = volunteers.get(v).getPreferredServicesRanks();
+            if (ranks != null) {
+                for (Map.Entry<Integer, String> entry : new TreeMap<>(ranks).entrySet()) {
+                    Integer s = serviceIndexById.get(entry.getValue());
+                    if (s != null && entry.getKey() > 0) {
+                        rankByService.putIfAbsent(s, entry.getKey());
+                    }
+                }
+            }
+            int[] preferred = rankByService.keySet().stream()
+                    .sorted((a, b) -> Integer.compare(rankByService.get(a), rankByService.get(b)))
+                    .mapToInt(Integer::intValue).toArray();
+            int[] preferredRank = new int[preferred.length];
+            double[] preferredCost = new double[preferred.length];
+            for (int i = 0; i < preferred.length; i++) {
+                preferredRank[i] = rankByService.get(preferred[i]);
+                preferredCost[i] = Math.pow(preferredRank[i] - 1, 2);
+            }
+            preferredServices[v] = preferred;
+            preferredRanks[v] = preferredRank;
+            preferredCosts[v] = preferredCost;
+        }
+    }
+
+    // Copy sharing the cost tables of source, with its own services and capacities (see withService)
+    private AssignmentProblem(AssignmentProblem source, List<ServiceDetails> services, int[] capacities) {
+        this.volunteers = source.volunteers;
+        this.services = services;
+        this.serviceIndexById.putAll(source.serviceIndexById);
+        this.volunteerIndexById.putAll(source.volunteerIndexById);
+        this.capacities = capacities;
+        this.preferredServices = source.preferredServices;
+        this.preferredRanks = source.preferredRanks;
+        this.preferredCosts = source.preferredCosts;
+        this.nonPreferredCost = source.nonPreferredCost;
+        this.penaltyServiceCount = source.penaltyServiceCount;
+        this.demand = source.demand;
+    }
+
+    /**
+     * The same problem with one service's details (capacity, name) replaced. Capacity only enters the cost through
+     * the penalty term of that service, so the gene cost and preference tables are shared rather than rebuilt.
+     */
+    AssignmentProblem withService(ServiceDetails updated) {
+        int s = serviceIndexById.get(updated.getId());
+        List<ServiceDetails> updatedServices = new ArrayList<>(services);
+        updatedServices.set(s, updated);
+        int[] updatedCapacities = capacities.clone();
+        updatedCapacities[s] = updated.getMaxVolunteers();
+        return new AssignmentProblem(this, updatedServices, updatedCapacities);
+    }
+
+    int volunteerCount() {
+        return volunteers.size();
+    }
+
+    int serviceCount() {
+        return services.size();
+    }
+
+    Volunteer volunteer(int v) {
+        return volunteers.get(v);
+    }
+
+    ServiceDetails service(int s) {
+        return services.get(s);
+    }
+
+    Integer serviceIndex(String serviceId) {
+        return serviceIndexById.get(serviceId);
+    }
+
+    int capacity(int s) {
+        return capacities[s];
+    }
+
+    int[] capacities() {
+        return capacities;
+    }
+
+    /** Cost of giving service s to volunteer v, capacity excluded. */
+    double geneCost(int v, int s) {
+        int[] preferred = preferredServices[v];
+        for (int i = 0; i < preferred.length; i++) {
+            if (preferred[i] == s) {
+                return preferredCosts[v][i];
+            }
+        }
+        return nonPreferredCost;
+    }
+
+    double nonPreferredCost() {
+        return nonPreferredCost;
+    }
+
+    int penaltyServiceCount() {
+        return penaltyServiceCount;
+    }
+
+    int[] preferredServices(int v) {
+        return preferredServices[v];
+    }
+
+    /** Ranks matching preferredServices(v). */
+    int[] preferredRanks(int v) {
+        return preferredRanks[v];
+    }
+
+    /** Gene costs matching preferredServices(v). */
+    double[] preferredCosts(int v) {
+        return preferredCosts[v];
+    }
+
+    boolean hasDemand() {
+        return demand != null;
+    }
+
+    /** Number of volunteers who rank service s; only if hasDemand(). */
+    int demand(int s) {
+        return demand[s];
+    }
+
+    /** Preference rank of service s for volunteer v, or 0 if it is not preferred. */
+    int preferenceRank(int v, int s) {
+        int[] preferred = preferredServices[v];
+        for (int i = 0; i < preferred.length; i++) {
+            if (preferred[i] == s) {
+                return preferredRanks[v][i];
+            }
+        }
+        return 0;
+    }
+
+    Integer volunteerIndex(String volunteerId) {
+        return volunteerIndexById.get(volunteerId);
+    }
+
+    /** Full cost of a plan: gene costs plus capacity penalties. */
+    double totalCost(int[] genes) {
+        int[] serviceCounts = new int[capacities.length];
+        double totalCost = 0;
+        for (int v = 0; v < genes.length; v++) {
+            serviceCounts[genes[v]]++;
+            totalCost += geneCost(v, genes[v]);
+        }
+        for (int s = 0; s < capacities.length; s++) {
+            totalCost += capacityPenalty(serviceCounts[s], capacities[s]);
+        }
+        return totalCost;
+    }
+
+    /**
+     * Encodes assignments (e.g. from a partial result) as genes of this problem.
+     * Volunteers without an assignment to a known service are left at -1.
+     */
+    int[] genesOf(List<Assignment> assignments) {
+        int[] genes = new int[volunteers.size()];
+        Arrays.fill(genes, -1);
+        for (Assignment assignment : assignments) {
+            Integer v = volunteerIndexById.get(assignment.getVolunteerId());
+            Integer s = serviceIndexById.get(assignment.getServiceId());
+            if (v != null && s != null) {
+                genes[v] = s;
+            }
+        }
+        return genes;
+    }
+
+    AssignmentResult toAssignmentResult(int[] genes, double totalCost, String message) {
+        List<Assignment> assignmentsList = new ArrayList<>();
+        int[] serviceCounts = new int[capacities.length];
+
+        for (int v = 0; v < genes.length; v++) {
+            int s = genes[v];
+            serviceCounts[s]++;
+            assignmentsList.add(new Assignment(volunteers.get(v).getId(), services.get(s).getId(), geneCost(v, s), preferenceRank(v, s)));
+        }
+        // Capacity check (though GA fitness should have minimized this)
+        for (int s = 0; s < serviceCounts.length; s++) {
+            if (serviceCounts[s] > capacities[s]) {
+                logger.warn("Service {} is over capacity in final assignment: {}/{}", services.get(s).getId(), serviceCounts[s], capacities[s]);
+            }
+        }
+
+        AssignmentResult result = new AssignmentResult();
+        result.setAssignments(assignmentsList);
+        result.setTotalCost(totalCost);
+        result.setMessage(message);
+        return result;
+    }
+
+    static double capacityPenalty(int assigned, int capacity) {
+        return assigned > capacity ? CAPACITY_PENALTY * (assigned - capacity) : 0;
+    }
+}
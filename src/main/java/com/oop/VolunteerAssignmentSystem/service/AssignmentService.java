@@ -1,82 +1,521 @@
 package com.oop.VolunteerAssignmentSystem.service;
 
+import com.oop.VolunteerAssignmentSystem.model.Assignment;
 import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.CompactAssignmentResult;
 import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
-import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
-import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.CatalogChange;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class AssignmentService {
     private static final Logger logger = LoggerFactory.getLogger(AssignmentService.class);
+    // How long past its deadline a synchronous caller waits for the plan to be priced and returned
+    private static final Duration RESULT_GRACE = Duration.ofSeconds(1);
+    public static final String CAPACITY_UPDATE_MESSAGE = "Capacity changed. Assignment updated from the current plan.";
 
     private final GeneticAlgorithmService geneticAlgorithmService;
-    private final InMemoryPreferenceRepository preferenceRepository;
-    private final InMemoryServiceRepository serviceRepository;
+    private final EventRepositoryRegistry eventRepositories;
+    private final OptimizationScheduler optimizationScheduler; // Shares optimizer cores fairly between events
     private final SimpMessagingTemplate messagingTemplate; // For WebSocket
+    // Solve connected components of the preference graph separately (see PreferenceGraphDecomposition)
+    private final boolean decompositionEnabled;
+    // Publish results as full JSON on the original topics (on by default, what existing subscribers expect) and/or
+    // in the compact form (see CompactAssignmentResult) on the topic's /compact sibling (opt-in). Each enabled form
+    // serializes every result once more
+    private final boolean fullJsonBroadcast;
+    private final boolean compactBroadcast;
+    // Jobs that are still running, so an identical request joins instead of optimizing the same data again.
+    // Guarded by itself: finding a job to join and registering a new one must be one step
+    private final Map<JobKey, List<InFlightJob>> inFlight = new HashMap<>();
+    // Orchestrates jobs; these threads mostly wait for the scheduler, so virtual threads are enough
+    private final Executor jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Latest plan of each event, the starting point when a capacity changes (see applyCatalogChange)
+    private final Map<String, CurrentPlan> currentPlans = new ConcurrentHashMap<>();
 
     public AssignmentService(GeneticAlgorithmService geneticAlgorithmService,
-                             InMemoryPreferenceRepository preferenceRepository,
-                             InMemoryServiceRepository serviceRepository,
-                             SimpMessagingTemplate messagingTemplate) {
+                             EventRepositoryRegistry eventRepositories,
+                             OptimizationScheduler optimizationScheduler,
+                             SimpMessagingTemplate messagingTemplate,
+                             @Value("${assignment.decomposition.enabled:true}") boolean decompositionEnabled,
+                             @Value("${assignment.broadcast.full-json:true}") boolean fullJsonBroadcast,
+                             @Value("${assignment.broadcast.compact:false}") boolean compactBroadcast) {
         this.geneticAlgorithmService = geneticAlgorithmService;
-        this.preferenceRepository = preferenceRepository;
-        this.serviceRepository = serviceRepository;
+        this.eventRepositories = eventRepositories;
+        this.optimizationScheduler = optimizationScheduler;
         this.messagingTemplate = messagingTemplate;
+        this.decompositionEnabled = decompositionEnabled;
+        this.fullJsonBroadcast = fullJsonBroadcast;
+        this.compactBroadcast = compactBroadcast;
+    }
+
+    /** WebSocket topic of an event's results; the default event keeps the original topic. */
+    public static String assignmentsTopic(String eventId) {
+        return eventId == null || EventRepositoryRegistry.DEFAULT_EVENT.equals(eventId)
+                ? "/topic/assignments"
+                : "/topic/events/" + eventId + "/assignments";
+    }
+
+    /** Topic of an event's results in the compact encoding (see CompactAssignmentResult). */
+    public static String compactAssignmentsTopic(String eventId) {
+        return assignmentsTopic(eventId) + "/compact";
     }
 
     public void triggerOptimization() {
-        logger.info("Optimization trigger received.");
-        // Run GA in a separate thread to not block the request
-        CompletableFuture.runAsync(() -> {
+        triggerOptimization(EventRepositoryRegistry.DEFAULT_EVENT, null);
+    }
+
+    /**
+     * @param servicePartitionKeys Optional explicit partition, serviceId -> key (e.g. site or shift).
+     *                             Services sharing a key are optimized together; unlisted services share one part.
+     */
+    public void triggerOptimization(String eventId, Map<String, String> servicePartitionKeys) {
+        triggerOptimization(eventId, servicePartitionKeys, GaParameterOverrides.NONE);
+    }
+
+    /** As above, with GA settings for this run only (see GaParameterOverrides). */
+    public void triggerOptimization(String eventId, Map<String, String> servicePartitionKeys, GaParameterOverrides parameters) {
+        logger.info("Optimization trigger received for event {}.", eventId);
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        // The job runs on its own thread so the request is not blocked; the GA runs themselves go through the scheduler
+        startOrJoin(repositories, servicePartitionKeys, GeneticAlgorithmService.NO_DEADLINE, parameters).whenComplete((result, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                logger.error("Error during optimization: ", cause);
+                AssignmentResult errorResult = new AssignmentResult();
+                errorResult.setMessage("Error during optimization: " + cause.getMessage());
+                publish(repositories.eventId(), errorResult);
+                return;
+            }
+            // Broadcast the result via WebSocket
+            publish(repositories.eventId(), result);
+        });
+    }
+
+    /**
+     * Optimizes an event's current data and returns the best plan found before the deadline.
+     * If an identical optimization (same event, preferences, catalog and partition) is already running and stops
+     * no later than this deadline, its result is shared instead of starting another one.
+     * The future fails with TimeoutException if no plan is available shortly after the deadline,
+     * e.g. because the optimizer cores were busy.
+     */
+    public CompletableFuture<AssignmentResult> optimizeWithin(String eventId, Map<String, String> servicePartitionKeys, Duration deadline) {
+        return optimizeWithin(eventId, servicePartitionKeys, deadline, GaParameterOverrides.NONE);
+    }
+
+    /** As above, with GA settings for this run only; only runs with the same settings are shared. */
+    public CompletableFuture<AssignmentResult> optimizeWithin(String eventId, Map<String, String> servicePartitionKeys, Duration deadline,
+                                                              GaParameterOverrides parameters) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        return startOrJoin(repositories, servicePartitionKeys, deadlineNanos, parameters)
+                .copy() // Timing out this caller must not complete the shared job for the others
+                .orTimeout(deadline.plus(RESULT_GRACE).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private CompletableFuture<AssignmentResult> startOrJoin(EventRepositories repositories, Map<String, String> servicePartitionKeys,
+                                                            long deadlineNanos, GaParameterOverrides parameters) {
+        // Versions before data: if a change slips in between, the plan is remembered as older than it is, never newer
+        long preferenceVersion = repositories.preferenceRepository().getVersion();
+        long catalogVersion = repositories.serviceRepository().getVersion();
+        Map<String, Volunteer> volunteers = repositories.preferenceRepository().findAllVolunteersWithPreferences();
+        List<ServiceDetails> services = repositories.serviceRepository().findAll().stream().collect(Collectors.toList());
+
+        if (volunteers.isEmpty()) {
+            logger.warn("No volunteers with preferences to assign.");
+            AssignmentResult emptyResult = new AssignmentResult();
+            emptyResult.setMessage("No volunteers with preferences available for assignment.");
+            return CompletableFuture.completedFuture(emptyResult);
+        }
+        if (services.isEmpty()) {
+            logger.warn("No services available for assignment.");
+            AssignmentResult emptyResult = new AssignmentResult();
+            emptyResult.setMessage("No services available for assignment.");
+            return CompletableFuture.completedFuture(emptyResult);
+        }
+
+        JobKey key = JobKey.of(repositories.eventId(), volunteers, services, servicePartitionKeys, parameters);
+        InFlightJob job = new InFlightJob(deadlineNanos, new CompletableFuture<>());
+        synchronized (inFlight) {
+            InFlightJob running = null;
+            for (InFlightJob candidate : inFlight.getOrDefault(key, List.of())) {
+                // Of the runs that end in time, the one with the latest deadline has searched the longest
+                if (candidate.servesDeadline(deadlineNanos)
+                        && (running == null || running.deadlineNanos() - candidate.deadlineNanos() < 0)) {
+                    running = candidate;
+                }
+            }
+            if (running != null) {
+                logger.info("Identical optimization already running for event {}; sharing its result.", repositories.eventId());
+                return running.result();
+            }
+            inFlight.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+        }
+        jobExecutor.execute(() -> {
             try {
                 logger.info("Starting Genetic Algorithm...");
-                Map<String, Volunteer> volunteers = preferenceRepository.findAllVolunteersWithPreferences();
-                List<ServiceDetails> services = serviceRepository.findAll().stream().collect(Collectors.toList());
-
-                if (volunteers.isEmpty()) {
-                    logger.warn("No volunteers with preferences to assign.");
-                    AssignmentResult emptyResult = new AssignmentResult();
-                    emptyResult.setMessage("No volunteers with preferences available for assignment.");
-                    messagingTemplate.convertAndSend("/topic/assignments", emptyResult);
-                    return;
-                }
-                if (services.isEmpty()) {
-                    logger.warn("No services available for assignment.");
-                    AssignmentResult emptyResult = new AssignmentResult();
-                    emptyResult.setMessage("No services available for assignment.");
-                    messagingTemplate.convertAndSend("/topic/assignments", emptyResult);
-                    return;
-                }
+                AssignmentResult result = optimize(repositories.eventId(), volunteers, services, servicePartitionKeys, deadlineNanos,
+                        parameters);
+                logger.info("Genetic Algorithm finished. Total cost: {}", result.getTotalCost());
+                rememberPlan(repositories.eventId(), volunteers, services, result, preferenceVersion, catalogVersion);
+                finished(key, job);
+                job.result().complete(result);
+            } catch (Throwable t) {
+                finished(key, job);
+                job.result().completeExceptionally(t);
+            }
+        });
+        return job.result();
+    }
 
+    private void finished(JobKey key, InFlightJob job) {
+        synchronized (inFlight) {
+            List<InFlightJob> jobs = inFlight.get(key);
+            if (jobs != null && jobs.remove(job) && jobs.isEmpty()) {
+                inFlight.remove(key);
+            }
+        }
+    }
 
-                AssignmentResult result = geneticAlgorithmService.run(volunteers, services);
-                logger.info("Genetic Algorithm finished. Total cost: {}", result.getTotalCost());
+    /** A running optimization and the deadline it stops at (NO_DEADLINE for a full run). */
+    private record InFlightJob(long deadlineNanos, CompletableFuture<AssignmentResult> result) {
+        /**
+         * Whether a caller with this deadline may share the job: a deadline-bound caller only joins runs that stop
+         * by its own deadline, and a full run must not take a plan cut short by someone's deadline.
+         */
+        boolean servesDeadline(long callerDeadlineNanos) {
+            if (callerDeadlineNanos == GeneticAlgorithmService.NO_DEADLINE || deadlineNanos == GeneticAlgorithmService.NO_DEADLINE) {
+                return callerDeadlineNanos == deadlineNanos;
+            }
+            return deadlineNanos - callerDeadlineNanos <= 0;
+        }
+    }
 
-                // Broadcast the result via WebSocket
-                messagingTemplate.convertAndSend("/topic/assignments", result);
-            } catch (Exception e) {
-                logger.error("Error during optimization: ", e);
-                AssignmentResult errorResult = new AssignmentResult();
-                errorResult.setMessage("Error during optimization: " + e.getMessage());
-                messagingTemplate.convertAndSend("/topic/assignments", errorResult);
+    /**
+     * Identity of an optimization: the event, copies of everything the GA reads (so a preference saved while a job
+     * runs makes the next request start a new job).
+     */
+    private record JobKey(String eventId, Map<String, Map<Integer, String>> preferences, Map<String, Integer> capacities,
+                          Map<String, String> servicePartitionKeys, GaParameterOverrides parameters) {
+        static JobKey of(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                         Map<String, String> servicePartitionKeys, GaParameterOverrides parameters) {
+            Map<String, Map<Integer, String>> preferences = new HashMap<>();
+            volunteers.forEach((id, volunteer) -> preferences.put(id, volunteer.getPreferredServicesRanks() == null
+                    ? Map.of() : new HashMap<>(volunteer.getPreferredServicesRanks())));
+            Map<String, Integer> capacities = new HashMap<>();
+            services.forEach(service -> capacities.put(service.getId(), service.getMaxVolunteers()));
+            return new JobKey(eventId, preferences, capacities,
+                    servicePartitionKeys == null ? Map.of() : new HashMap<>(servicePartitionKeys), parameters);
+        }
+    }
+
+    /**
+     * An event's latest plan with the data versions it was computed for. The problem (with its cost tables) and the
+     * occupancy counts are kept so a capacity change can be priced without rebuilding anything.
+     */
+    private record CurrentPlan(AssignmentProblem problem, int[] genes, int[] serviceCounts, double totalCost,
+                               long preferenceVersion, long catalogVersion) {
+        static CurrentPlan of(AssignmentProblem problem, int[] genes, double totalCost, long preferenceVersion, long catalogVersion) {
+            int[] serviceCounts = new int[problem.serviceCount()];
+            for (int gene : genes) {
+                serviceCounts[gene]++;
             }
-        }).exceptionally(ex -> {
-            logger.error("Unhandled exception in async optimization: ", ex);
-            AssignmentResult errorResult = new AssignmentResult();
-            errorResult.setMessage("Critical error during optimization process: " + ex.getMessage());
-            messagingTemplate.convertAndSend("/topic/assignments", errorResult);
+            return new CurrentPlan(problem, genes, serviceCounts, totalCost, preferenceVersion, catalogVersion);
+        }
+
+        boolean isOlderThan(CurrentPlan other) {
+            return preferenceVersion < other.preferenceVersion || catalogVersion < other.catalogVersion;
+        }
+    }
+
+    private void rememberPlan(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                              AssignmentResult result, long preferenceVersion, long catalogVersion) {
+        CurrentPlan plan = planOf(volunteers, services, result, preferenceVersion, catalogVersion);
+        if (plan != null) {
+            // A run that started before a later change (or a capacity update) must not replace the newer plan
+            currentPlans.merge(eventId, plan, (previous, finished) -> finished.isOlderThan(previous) ? previous : finished);
+        }
+    }
+
+    // The result as a plan of the snapshot it was computed from, or null if it is not a full plan of it
+    private static CurrentPlan planOf(Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                                      AssignmentResult result, long preferenceVersion, long catalogVersion) {
+        if (result.getAssignments() == null || result.getAssignments().size() != volunteers.size()) {
+            return null;
+        }
+        AssignmentProblem problem = new AssignmentProblem(new ArrayList<>(volunteers.values()), services);
+        int[] genes = problem.genesOf(result.getAssignments());
+        if (Arrays.stream(genes).anyMatch(gene -> gene < 0)) {
             return null;
+        }
+        return CurrentPlan.of(problem, genes, problem.totalCost(genes), preferenceVersion, catalogVersion);
+    }
+
+    /**
+     * Updates the event's current plan after a catalog change, without a cold re-optimization.
+     * <p>
+     * A capacity change only alters the capacity penalty of one service, so when nothing else changed since the plan
+     * was made, its cost is adjusted by that one term, volunteers are moved out of the service if it is now overfull,
+     * and the local search continues from the adjusted plan. If preferences changed in the meantime the plan is
+     * mapped onto the current data first (new volunteers placed into spare capacity) and warm-started the same way.
+     * The updated plan is broadcast like an optimization result.
+     * Other changes (created or deleted services, or a plan that is older than the catalog) leave the next
+     * optimization to start from scratch.
+     * <p>
+     * Only the re-pricing happens on the caller's thread: the plan with the adjusted cost becomes current right away,
+     * so the next change of the catalog finds a plan of its previous version. The repair and local search run as an
+     * ordinary job of the event on the OptimizationScheduler, and their result is kept only if no later change or
+     * optimization has replaced the re-priced plan in the meantime.
+     * Callers apply changes of one event in catalog version order.
+     *
+     * @return the updated plan once the warm start is done, or empty if there was no plan to update
+     */
+    public CompletableFuture<Optional<AssignmentResult>> applyCatalogChange(String eventId, CatalogChange change) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        CurrentPlan plan = currentPlans.get(repositories.eventId());
+        if (plan == null || !change.isUpdate() || plan.catalogVersion() != change.version() - 1) {
+            if (plan != null) {
+                currentPlans.remove(repositories.eventId(), plan); // No longer matches the catalog
+            }
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        AssignmentProblem problem = plan.problem().withService(change.current());
+        int s = problem.serviceIndex(change.current().getId());
+        int assigned = plan.serviceCounts()[s];
+        double cost = plan.totalCost() // Unchanged if the service was only renamed
+                - AssignmentProblem.capacityPenalty(assigned, plan.problem().capacity(s))
+                + AssignmentProblem.capacityPenalty(assigned, problem.capacity(s));
+        CurrentPlan repriced = new CurrentPlan(problem, plan.genes(), plan.serviceCounts(), cost,
+                plan.preferenceVersion(), change.version());
+        if (!currentPlans.replace(repositories.eventId(), plan, repriced) || !change.isCapacityChange()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return optimizationScheduler.submit(repositories.eventId(), () -> warmStart(repositories, repriced, change));
+    }
+
+    // The scheduled part of applyCatalogChange
+    private Optional<AssignmentResult> warmStart(EventRepositories repositories, CurrentPlan repriced, CatalogChange change) {
+        long start = System.nanoTime();
+        AssignmentProblem problem = repriced.problem();
+        int[] genes = repriced.genes().clone();
+        double cost = repriced.totalCost();
+        long preferenceVersion;
+        Map<String, Volunteer> volunteers = null;
+        List<ServiceDetails> services = null;
+        synchronized (repositories.serviceRepository()) { // The catalog stays at the plan's version while it is read
+            if (currentPlans.get(repositories.eventId()) != repriced) {
+                return Optional.empty(); // A later change or optimization has taken over
+            }
+            preferenceVersion = repositories.preferenceRepository().getVersion();
+            if (preferenceVersion != repriced.preferenceVersion()) {
+                volunteers = repositories.preferenceRepository().findAllVolunteersWithPreferences();
+                services = repositories.serviceRepository().findAll().stream().collect(Collectors.toList());
+            }
+        }
+        if (volunteers != null) {
+            // Preferences moved on since the plan: carry its assignments over to a problem of the current data
+            problem = new AssignmentProblem(new ArrayList<>(volunteers.values()), services);
+            genes = carryOver(repriced, problem);
+            cost = problem.totalCost(genes);
+        }
+        cost = geneticAlgorithmService.warmStart(problem, genes, cost);
+        AssignmentResult result = problem.toAssignmentResult(genes, cost, CAPACITY_UPDATE_MESSAGE);
+        LowerBound.report(result, geneticAlgorithmService.lowerBound(problem));
+        if (!currentPlans.replace(repositories.eventId(), repriced,
+                CurrentPlan.of(problem, genes, cost, preferenceVersion, change.version()))) {
+            return Optional.empty();
+        }
+        logger.info("Updated the plan of event {} for the change to service {} in {} ms. Total cost: {}", repositories.eventId(),
+                change.current().getId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), cost);
+        publish(repositories.eventId(), result);
+        return Optional.of(result);
+    }
+
+    /**
+     * Background re-optimization (see BackgroundReoptimizer): optimizes the event's current data within the budget
+     * and publishes the result only if it costs less than keeping the current plan, i.e. the current plan carried over
+     * to the same data (assignments kept, newcomers placed into spare capacity). Otherwise the carried-over plan
+     * becomes the current one and nothing is published. Without a current plan any full plan is published.
+     * The run is the event's own: it neither shares a run with other callers nor becomes current before it has won,
+     * and it is dropped if a newer plan (e.g. after a capacity change) took over while it ran.
+     * The future completes when the run itself has finished, so a caller can hold one run per event at a time.
+     *
+     * @return the published plan, or empty if it was no improvement
+     */
+    public CompletableFuture<Optional<AssignmentResult>> reoptimize(String eventId, Duration budget) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        // Versions before data, as in startOrJoin
+        long preferenceVersion = repositories.preferenceRepository().getVersion();
+        long catalogVersion = repositories.serviceRepository().getVersion();
+        Map<String, Volunteer> volunteers = repositories.preferenceRepository().findAllVolunteersWithPreferences();
+        List<ServiceDetails> services = repositories.serviceRepository().findAll().stream().collect(Collectors.toList());
+        if (volunteers.isEmpty() || services.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        long deadlineNanos = System.nanoTime() + budget.toNanos();
+        CompletableFuture<Optional<AssignmentResult>> published = new CompletableFuture<>();
+        jobExecutor.execute(() -> {
+            try {
+                AssignmentResult result = optimize(repositories.eventId(), volunteers, services, null, deadlineNanos);
+                published.complete(publishIfBetter(repositories.eventId(), result,
+                        planOf(volunteers, services, result, preferenceVersion, catalogVersion)));
+            } catch (Throwable t) {
+                published.completeExceptionally(t);
+            }
         });
+        return published;
+    }
+
+    private Optional<AssignmentResult> publishIfBetter(String eventId, AssignmentResult result, CurrentPlan candidate) {
+        if (candidate == null) {
+            return Optional.empty(); // No full plan came out of the run
+        }
+        CurrentPlan current = currentPlans.get(eventId);
+        if (current != null) {
+            if (candidate.isOlderThan(current)) {
+                return Optional.empty(); // The data moved on while it ran; the current plan already accounts for that
+            }
+            int[] keptGenes = carryOver(current, candidate.problem());
+            double keptCost = candidate.problem().totalCost(keptGenes);
+            if (candidate.totalCost() >= keptCost) {
+                logger.info("Background re-optimization of event {} found no better plan ({} vs {} for the current one).",
+                        eventId, candidate.totalCost(), keptCost);
+                currentPlans.replace(eventId, current, CurrentPlan.of(candidate.problem(), keptGenes, keptCost,
+                        candidate.preferenceVersion(), candidate.catalogVersion()));
+                return Optional.empty();
+            }
+            logger.info("Background re-optimization of event {} lowered the cost from {} to {}.",
+                    eventId, keptCost, candidate.totalCost());
+        }
+        boolean installed = current == null
+                ? currentPlans.putIfAbsent(eventId, candidate) == null
+                : currentPlans.replace(eventId, current, candidate);
+        if (!installed) {
+            return Optional.empty(); // Another plan became current during the comparison
+        }
+        publish(eventId, result);
+        return Optional.of(result);
     }
-}
 
+    // The plan's assignments mapped onto another problem by ID; volunteers (or services) it does not know are placed
+    // into spare capacity as after a decomposed run
+    private static int[] carryOver(CurrentPlan plan, AssignmentProblem problem) {
+        AssignmentProblem previous = plan.problem();
+        int[] genes = new int[problem.volunteerCount()];
+        Arrays.fill(genes, -1);
+        for (int v = 0; v < previous.volunteerCount(); v++) {
+            Integer current = problem.volunteerIndex(previous.volunteer(v).getId());
+            Integer service = problem.serviceIndex(previous.service(plan.genes()[v]).getId());
+            if (current != null && service != null) {
+                genes[current] = service;
+            }
+        }
+        PreferenceGraphDecomposition.completePlan(problem, genes);
+        return genes;
+    }
+
+    AssignmentResult optimize(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services, Map<String, String> servicePartitionKeys) {
+        return optimize(eventId, volunteers, services, servicePartitionKeys, GeneticAlgorithmService.NO_DEADLINE);
+    }
+
+    AssignmentResult optimize(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                              Map<String, String> servicePartitionKeys, long deadlineNanos) {
+        return optimize(eventId, volunteers, services, servicePartitionKeys, deadlineNanos, GaParameterOverrides.NONE);
+    }
+
+    AssignmentResult optimize(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                              Map<String, String> servicePartitionKeys, long deadlineNanos, GaParameterOverrides parameters) {
+        PreferenceGraphDecomposition decomposition = null;
+        if (servicePartitionKeys != null && !servicePartitionKeys.isEmpty()) {
+            decomposition = PreferenceGraphDecomposition.byServiceKey(volunteers, services,
+                    service -> servicePartitionKeys.getOrDefault(service.getId(), ""));
+        } else if (decompositionEnabled) {
+            decomposition = PreferenceGraphDecomposition.byConnectedComponents(volunteers, services);
+        }
+        // Demand of the whole event, for seeding every run (or part) with the popularity of its services
+        Map<String, Integer> serviceDemand = serviceDemand(eventId);
+        if (decomposition == null || decomposition.parts().size() < 2) {
+            return await(optimizationScheduler.submit(eventId, () -> geneticAlgorithmService.run(volunteers, services,
+                    services.size(), deadlineNanos, parameters, serviceDemand)));
+        }
+        return solveInParts(eventId, volunteers, services, decomposition, deadlineNanos, parameters, serviceDemand);
+    }
+
+    private Map<String, Integer> serviceDemand(String eventId) {
+        return eventRepositories.forEvent(eventId).preferenceRepository().getDemandIndex().snapshot().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().volunteers()));
+    }
+
+    private AssignmentResult solveInParts(String eventId, Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                                          PreferenceGraphDecomposition decomposition, long deadlineNanos, GaParameterOverrides parameters,
+                                          Map<String, Integer> serviceDemand) {
+        logger.info("Solving {} independent parts in parallel ({} volunteers without preferences placed afterwards).",
+                decomposition.parts().size(), decomposition.unconstrainedVolunteers().size());
+        // Every part keeps the Nd of the whole catalog for the non-preferred penalty
+        List<CompletableFuture<AssignmentResult>> partRuns = decomposition.parts().stream()
+                .map(part -> optimizationScheduler.submit(eventId,
+                        () -> geneticAlgorithmService.run(part.volunteers(), part.services(), services.size(), deadlineNanos,
+                                parameters, serviceDemand)))
+                .collect(Collectors.toList());
+        List<AssignmentResult> partResults = partRuns.stream().map(AssignmentService::await).collect(Collectors.toList());
+        List<Assignment> partialAssignments = partResults.stream()
+                .flatMap(partResult -> partResult.getAssignments().stream())
+                .collect(Collectors.toList());
+        boolean cutShort = partResults.stream()
+                .anyMatch(partResult -> GeneticAlgorithmService.DEADLINE_MESSAGE.equals(partResult.getMessage()));
+
+        // Price the merged plan against the whole problem, so capacity and cross-part costs are counted once
+        AssignmentProblem whole = new AssignmentProblem(new ArrayList<>(volunteers.values()), services);
+        int[] genes = whole.genesOf(partialAssignments);
+        PreferenceGraphDecomposition.completePlan(whole, genes);
+        AssignmentResult result = whole.toAssignmentResult(genes, whole.totalCost(genes),
+                cutShort ? GeneticAlgorithmService.DEADLINE_MESSAGE : GeneticAlgorithmService.COMPLETE_MESSAGE);
+        // Bound of the whole problem, so the gap also covers the volunteers placed after the parts
+        LowerBound.report(result, geneticAlgorithmService.lowerBound(whole));
+        return result;
+    }
+
+    // Broadcasts a result via WebSocket in each enabled form
+    private void publish(String eventId, AssignmentResult result) {
+        if (fullJsonBroadcast) {
+            messagingTemplate.convertAndSend(assignmentsTopic(eventId), result);
+        }
+        if (compactBroadcast) {
+            messagingTemplate.convertAndSend(compactAssignmentsTopic(eventId), CompactAssignmentResult.of(result));
+        }
+    }
+
+    // Waits for a scheduled run, rethrowing its own exception rather than the CompletionException wrapper
+    private static <T> T await(CompletableFuture<T> run) {
+        try {
+            return run.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps plans fresh while registration is open, without anyone pressing "optimize".
+ * <p>
+ * Every check interval it looks at how many preference submissions and catalog changes each event has had since
+ * its last background run. Once changes have stopped for the quiet period, or once enough have piled up that waiting
+ * for a lull is not worth it, it starts a run bounded by max-run-ms (AssignmentService.reoptimize), which publishes
+ * the result only if it beats the current plan. At most one background run per event is in flight: changes that
+ * arrive meanwhile are picked up by the next one, so a burst of submissions costs one run, not one per submission.
+ * Events are first seen from a baseline of zero, so submissions and catalog changes made before their first check
+ * (those that came with a new event, or were replayed from the journal) count; the built-in demo data does not.
+ * <p>
+ * Off unless assignment.reoptimize.enabled is set; the checks start once the application is ready.
+ */
+@Component
+public class BackgroundReoptimizer {
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundReoptimizer.class);
+
+    private final AssignmentService assignmentService;
+    private final EventRepositoryRegistry eventRepositories;
+    private final long quietPeriodNanos;
+    private final long changeThreshold;
+    private final Duration maxRun;
+    private final boolean enabled;
+    private final long checkIntervalMillis;
+    private volatile ScheduledExecutorService timer; // null until started, and when background re-optimization is off
+    private final Map<String, EventState> states = new HashMap<>(); // Only touched by check
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    // Change counters at the last background run and when they last moved
+    private static final class EventState {
+        private long startedSubmissions;
+        private long startedCatalogVersion;
+        private long seenChanges;
+        private long lastChangeNanos;
+    }
+
+    public BackgroundReoptimizer(AssignmentService assignmentService,
+                                 EventRepositoryRegistry eventRepositories,
+                                 @Value("${assignment.reoptimize.enabled:false}") boolean enabled,
+                                 @Value("${assignment.reoptimize.check-interval-ms:1000}") long checkIntervalMillis,
+                                 @Value("${assignment.reoptimize.quiet-period-ms:5000}") long quietPeriodMillis,
+                                 @Value("${assignment.reoptimize.change-threshold:200}") long changeThreshold,
+                                 @Value("${assignment.reoptimize.max-run-ms:5000}") long maxRunMillis) {
+        this.assignmentService = assignmentService;
+        this.eventRepositories = eventRepositories;
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+        this.changeThreshold = Math.max(1, changeThreshold);
+        this.maxRun = Duration.ofMillis(maxRunMillis);
+        this.enabled = enabled;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "background-reoptimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::check, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void check() {
+        for (String eventId : eventRepositories.getEventIds()) {
+            try {
+                check(eventRepositories.forEvent(eventId));
+            } catch (RuntimeException e) {
+                logger.error("Background re-optimization check of event {} failed", eventId, e); // Keep checking the others
+            }
+        }
+    }
+
+    private void check(EventRepositories repositories) {
+        long submissions = repositories.preferenceRepository().getSubmissionCount();
+        long catalogVersion = repositories.serviceRepository().getVersion();
+        long now = System.nanoTime();
+        EventState state = states.get(repositories.eventId());
+        if (state == null) {
+            state = new EventState(); // Nothing run yet: everything so far is pending
+            state.lastChangeNanos = now;
+            states.put(repositories.eventId(), state);
+        }
+        long changes = (submissions - state.startedSubmissions) + (catalogVersion - state.startedCatalogVersion);
+        if (changes != state.seenChanges) {
+            state.seenChanges = changes;
+            state.lastChangeNanos = now;
+        }
+        if (changes == 0 || running.contains(repositories.eventId())) {
+            return;
+        }
+        boolean quiet = now - state.lastChangeNanos >= quietPeriodNanos;
+        if (!quiet && changes < changeThreshold) {
+            return;
+        }
+
+        logger.info("Background re-optimization of event {} after {} changes ({}).", repositories.eventId(), changes,
+                quiet ? "quiet period" : "change threshold");
+        state.startedSubmissions = submissions;
+        state.startedCatalogVersion = catalogVersion;
+        state.seenChanges = 0;
+        String eventId = repositories.eventId();
+        running.add(eventId);
+        try {
+            assignmentService.reoptimize(eventId, maxRun).whenComplete((published, ex) -> {
+                running.remove(eventId);
+                if (ex != null) {
+                    logger.warn("Background re-optimization of event {} failed: {}", eventId, ex.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(eventId);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+}
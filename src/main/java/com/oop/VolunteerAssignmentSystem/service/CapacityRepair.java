@@ -0,0 +1,114 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import java.util.Arrays;
+
+/**
+ * Repair operator that moves volunteers out of overfull services into services that still have room,
+ * so offspring stay (or become) feasible instead of relying on the capacity penalty alone.
+ * Volunteers whose move costs least are moved first, each to their next-best service with room.
+ * An instance keeps scratch buffers, so it belongs to a single run and thread.
+ * <p>
+ * A caller that keeps the volunteers per service of each chromosome up to date (see Island) passes them in, so a
+ * feasible chromosome is recognized in O(services) instead of being recounted over every volunteer.
+ */
+final class CapacityRepair {
+    static final String NONE = "none";
+    static final String CAPACITY = "capacity";
+
+    private final AssignmentProblem problem;
+    private final int[] scratchCounts; // For callers that keep no counts of their own
+    private final int[] candidates; // Volunteers sitting in an overfull service
+    // Per candidate: cost delta of its move in the high 32 bits, candidate index in the low ones, so a primitive
+    // sort orders candidates by delta, ties in volunteer order
+    private final long[] moveKeys;
+
+    CapacityRepair(AssignmentProblem problem) {
+        this.problem = problem;
+        this.scratchCounts = new int[problem.serviceCount()];
+        this.candidates = new int[problem.volunteerCount()];
+        this.moveKeys = new long[problem.volunteerCount()];
+    }
+
+    /** Repairs one chromosome in place and returns the number of volunteers moved. */
+    int repair(GeneMatrix population, int row) {
+        count(population, row, scratchCounts);
+        return repair(population, row, scratchCounts);
+    }
+
+    /**
+     * As above, given the chromosome's volunteers per service (as count fills it in), which are kept up to date
+     * with the moves.
+     */
+    int repair(GeneMatrix population, int row, int[] serviceCounts) {
+        int volunteerCount = population.columns();
+        int overflow = 0;
+        int room = 0;
+        for (int s = 0; s < serviceCounts.length; s++) {
+            overflow += Math.max(0, serviceCounts[s] - problem.capacity(s));
+            room += Math.max(0, problem.capacity(s) - serviceCounts[s]);
+        }
+        if (overflow == 0 || room == 0) {
+            return 0; // Already feasible, or nowhere to move anyone
+        }
+
+        int candidateCount = 0;
+        for (int v = 0; v < volunteerCount; v++) {
+            int current = population.get(row, v);
+            if (serviceCounts[current] > problem.capacity(current)) {
+                int target = bestTargetWithRoom(v, current, serviceCounts);
+                candidates[candidateCount] = v;
+                moveKeys[candidateCount] = moveKey(problem.geneCost(v, target) - problem.geneCost(v, current), candidateCount);
+                candidateCount++;
+            }
+        }
+        Arrays.sort(moveKeys, 0, candidateCount);
+
+        int moved = 0;
+        for (int i = 0; i < candidateCount && overflow > 0 && room > 0; i++) {
+            int v = candidates[(int) moveKeys[i]];
+            int current = population.get(row, v);
+            if (serviceCounts[current] <= problem.capacity(current)) {
+                continue; // Earlier moves already emptied this service down to capacity
+            }
+            int target = bestTargetWithRoom(v, current, serviceCounts); // Room may have changed since the delta was computed
+            population.set(row, v, target);
+            serviceCounts[current]--;
+            serviceCounts[target]++;
+            overflow--;
+            room--;
+            moved++;
+        }
+        return moved;
+    }
+
+    /** Fills serviceCounts with the number of volunteers the chromosome assigns to each service. */
+    static void count(GeneMatrix population, int row, int[] serviceCounts) {
+        Arrays.fill(serviceCounts, 0);
+        for (int v = 0; v < population.columns(); v++) {
+            serviceCounts[population.get(row, v)]++;
+        }
+    }
+
+    // Gene costs are (rank - 1)^2 or 10 * Nd^2, whole numbers, so the delta loses nothing when rounded
+    private static long moveKey(double delta, int candidate) {
+        long clamped = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.round(delta)));
+        return clamped << 32 | candidate;
+    }
+
+    /** Cheapest service with spare capacity for volunteer v: preferred services in rank order, else the emptiest one. */
+    private int bestTargetWithRoom(int v, int current, int[] serviceCounts) {
+        for (int s : problem.preferredServices(v)) {
+            if (s != current && serviceCounts[s] < problem.capacity(s)) {
+                return s;
+            }
+        }
+        int target = -1;
+        for (int s = 0; s < serviceCounts.length; s++) {
+            if (s != current && serviceCounts[s] < problem.capacity(s)
+                    && (target < 0 || problem.capacity(s) - serviceCounts[s] > problem.capacity(target) - serviceCounts[target])) {
+                target = s;
+            }
+        }
+        return target;
+    }
+}
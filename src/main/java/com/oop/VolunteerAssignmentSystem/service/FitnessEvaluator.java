@@ -0,0 +1,26 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+/**
+ * Computes the cost of one chromosome: the sum of its per-gene costs plus the capacity overflow penalty.
+ * Evaluators keep scratch buffers, so an instance belongs to a single run and thread.
+ */
+interface FitnessEvaluator {
+
+    String SCALAR = "scalar";
+    String VECTOR = "vector";
+    String AUTO = "auto"; // Vector kernel when jdk.incubator.vector is available, scalar otherwise
+
+    double evaluate(GeneMatrix population, int row);
+
+    static FitnessEvaluator create(AssignmentProblem problem, String kernel) {
+        boolean vectorRequested = VECTOR.equalsIgnoreCase(kernel) || AUTO.equalsIgnoreCase(kernel);
+        if (vectorRequested && isVectorApiAvailable()) {
+            return new VectorFitnessEvaluator(problem);
+        }
+        return new ScalarFitnessEvaluator(problem);
+    }
+
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
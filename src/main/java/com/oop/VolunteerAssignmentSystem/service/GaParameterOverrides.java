@@ -0,0 +1,39 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+/**
+ * Per-run GA settings requested by a caller (e.g. as query parameters of the optimize endpoints).
+ * Unset (null) fields keep what the run would otherwise use: the configured ga.parameters mode unless parameters
+ * names another one, and that mode's values for the instance size.
+ */
+public record GaParameterOverrides(String parameters, Integer populationSize, Integer maxGenerations,
+                                   Double mutationRate, Double crossoverRate, Integer tournamentSize) {
+    public static final GaParameterOverrides NONE = new GaParameterOverrides(null, null, null, null, null, null);
+
+    public GaParameterOverrides {
+        if (parameters != null && !GaParameters.FIXED_MODE.equals(parameters) && !GaParameters.ADAPTIVE_MODE.equals(parameters)) {
+            throw new IllegalArgumentException("parameters must be " + GaParameters.FIXED_MODE + " or " + GaParameters.ADAPTIVE_MODE);
+        }
+        // Rejected here rather than when the run starts; the fixed values are valid, so only an override can fail
+        override(GaParameters.FIXED, populationSize, maxGenerations, mutationRate, crossoverRate, tournamentSize);
+    }
+
+    public boolean isEmpty() {
+        return NONE.equals(this);
+    }
+
+    /** The base settings with every set field replaced. */
+    GaParameters applyTo(GaParameters base) {
+        return override(base, populationSize, maxGenerations, mutationRate, crossoverRate, tournamentSize);
+    }
+
+    private static GaParameters override(GaParameters base, Integer populationSize, Integer maxGenerations,
+                                         Double mutationRate, Double crossoverRate, Integer tournamentSize) {
+        return new GaParameters(
+                populationSize != null ? populationSize : base.populationSize(),
+                maxGenerations != null ? maxGenerations : base.maxGenerations(),
+                mutationRate != null ? mutationRate : base.mutationRate(),
+                crossoverRate != null ? crossoverRate : base.crossoverRate(),
+                tournamentSize != null ? tournamentSize : base.tournamentSize(),
+                base.adaptive());
+    }
+}
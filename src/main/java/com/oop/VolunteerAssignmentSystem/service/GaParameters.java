@@ -0,0 +1,52 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+/**
+ * Operator settings of one GA run.
+ * <p>
+ * FIXED holds the long-standing defaults, the same for 30 or 30,000 volunteers. adaptiveFor sizes a run to its
+ * instance instead: mutation touches a few genes per child rather than a fixed share of all of them (10% of
+ * 30,000 genes is 3,000 random moves per child, which undoes whatever selection achieved), and the population
+ * shrinks as chromosomes get longer, since every extra one costs a full evaluation and repair per generation.
+ * Adaptive runs also tune mutation and selection pressure online from diversity and progress (see Island).
+ */
+public record GaParameters(int populationSize, int maxGenerations, double mutationRate, double crossoverRate,
+                           int tournamentSize, boolean adaptive) {
+    public static final String FIXED_MODE = "fixed";
+    public static final String ADAPTIVE_MODE = "adaptive";
+
+    public static final GaParameters FIXED = new GaParameters(GeneticAlgorithmService.POPULATION_SIZE,
+            GeneticAlgorithmService.MAX_GENERATIONS, GeneticAlgorithmService.MUTATION_RATE,
+            GeneticAlgorithmService.CROSSOVER_RATE, GeneticAlgorithmService.TOURNAMENT_SIZE, false);
+
+    // Expected genes mutated per child in an adaptive run, before online adjustment
+    static final double MUTATED_GENES_PER_CHILD = 2;
+    static final int MIN_ADAPTIVE_POPULATION = 30;
+
+    public GaParameters {
+        if (populationSize < 2 || maxGenerations < 0 || tournamentSize < 1) {
+            throw new IllegalArgumentException("GA needs a population of at least 2 and a tournament of at least 1");
+        }
+        if (mutationRate < 0 || mutationRate > 1 || crossoverRate < 0 || crossoverRate > 1) {
+            throw new IllegalArgumentException("GA rates must be between 0 and 1");
+        }
+    }
+
+    /** Size-aware starting point for an instance of volunteerCount volunteers, adjusted online during the run. */
+    public static GaParameters adaptiveFor(int volunteerCount) {
+        int volunteers = Math.max(1, volunteerCount);
+        // Small instances keep the fixed population; beyond ~1,000 volunteers it shrinks with sqrt(volunteers)
+        int populationSize = (int) Math.max(MIN_ADAPTIVE_POPULATION,
+                Math.min(FIXED.populationSize(), Math.round(3_000 / Math.sqrt(volunteers))));
+        double mutationRate = Math.min(FIXED.mutationRate(), MUTATED_GENES_PER_CHILD / volunteers);
+        return new GaParameters(populationSize, FIXED.maxGenerations(), mutationRate, FIXED.crossoverRate(),
+                FIXED.tournamentSize(), true);
+    }
+
+    public GaParameters withPopulationSize(int populationSize) {
+        return new GaParameters(populationSize, maxGenerations, mutationRate, crossoverRate, tournamentSize, adaptive);
+    }
+
+    public GaParameters withMaxGenerations(int maxGenerations) {
+        return new GaParameters(populationSize, maxGenerations, mutationRate, crossoverRate, tournamentSize, adaptive);
+    }
+}
@@ -0,0 +1,33 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+/**
+ * A population stored as a contiguous rows x columns matrix of genes.
+ * Each row is a chromosome and each column a volunteer; a gene is the index of the assigned service.
+ */
+interface GeneMatrix extends AutoCloseable {
+
+    static GeneMatrix allocate(int rows, int columns, boolean offHeap) {
+        return offHeap ? new OffHeapGeneMatrix(rows, columns) : new HeapGeneMatrix(rows, columns);
+    }
+
+    int rows();
+
+    int columns();
+
+    int get(int row, int column);
+
+    void set(int row, int column, int gene);
+
+    /** Copies a whole row of this matrix into a row of the target matrix. */
+    void copyRow(int row, GeneMatrix target, int targetRow);
+
+    /** Copies a row into the given array, which must hold at least columns() genes. */
+    void readRow(int row, int[] genes);
+
+    /** Overwrites a row with the given genes. */
+    void writeRow(int row, int[] genes);
+
+    /** Releases the backing storage; the matrix must not be used afterwards. */
+    @Override
+    void close();
+}
@@ -1,42 +1,113 @@
 package com.oop.VolunteerAssignmentSystem.service;
 
-import com.oop.VolunteerAssignmentSystem.model.Assignment;
 import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
 import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class GeneticAlgorithmService {
     private static final Logger logger = LoggerFactory.getLogger(GeneticAlgorithmService.class);
 
-    private static final int POPULATION_SIZE = 100;
-    private static final int MAX_GENERATIONS = 200;
-    private static final double MUTATION_RATE = 0.1; // Chance per volunteer assignment in a chromosome
-    private static final double CROSSOVER_RATE = 0.7;
-    private static final int TOURNAMENT_SIZE = 5;
-    private static final int ND_PENALTY_SQUARED_BASE = 10; // For 10 * Nd^2, where Nd is number of services
-
-    // Chromosome: A list of service IDs, one for each volunteer.
-    // The index in the list corresponds to a volunteer.
-    static class Chromosome {
-        List<String> assignments; // assignments.get(i) is service for volunteer i
-        double fitness; // Lower is better (cost)
-
-        Chromosome(List<String> assignments) {
-            this.assignments = assignments;
-            this.fitness = Double.MAX_VALUE;
+    // Fixed parameters (GaParameters.FIXED); adaptive runs start from size-aware values instead
+    static final int POPULATION_SIZE = 100;
+    static final int MAX_GENERATIONS = 200;
+    static final double MUTATION_RATE = 0.1; // Chance per volunteer assignment in a chromosome
+    static final double CROSSOVER_RATE = 0.7;
+    static final int TOURNAMENT_SIZE = 5;
+
+    /** Deadline (System.nanoTime based) of a run that always does all its generations. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    public static final String COMPLETE_MESSAGE = "Optimization complete. Best assignment found.";
+    public static final String DEADLINE_MESSAGE = "Deadline reached. Best assignment found so far.";
+
+    // Keep the population in native memory instead of on the heap (see OffHeapGeneMatrix)
+    private final boolean offHeapPopulation;
+    // scalar, vector or auto (see FitnessEvaluator)
+    private final String fitnessKernel;
+    // capacity or none (see CapacityRepair)
+    private final String repairOperator;
+    // fixed or adaptive (see GaParameters)
+    private final String parameterMode;
+    // Share of the initial population seeded from the demand for each service, 0 to 1 (see Island)
+    private final double demandSeededShare;
+    private final MemeticLocalSearch localSearch;
+    private final IslandModel islandModel;
+    private final LowerBound lowerBound;
+
+    public GeneticAlgorithmService(@Value("${ga.population.off-heap:false}") boolean offHeapPopulation,
+                                   @Value("${ga.fitness-kernel:scalar}") String fitnessKernel,
+                                   @Value("${ga.repair:none}") String repairOperator,
+                                   @Value("${ga.parameters:fixed}") String parameterMode,
+                                   @Value("${ga.seeding.demand-share:0.5}") double demandSeededShare,
+                                   MemeticLocalSearch localSearch,
+                                   IslandModel islandModel,
+                                   LowerBound lowerBound) {
+        this.offHeapPopulation = offHeapPopulation;
+        this.fitnessKernel = fitnessKernel;
+        this.repairOperator = repairOperator;
+        this.parameterMode = parameterMode;
+        this.demandSeededShare = Math.min(1, Math.max(0, demandSeededShare));
+        this.localSearch = localSearch;
+        this.islandModel = islandModel;
+        this.lowerBound = lowerBound;
+        if (FitnessEvaluator.VECTOR.equalsIgnoreCase(fitnessKernel) && !FitnessEvaluator.isVectorApiAvailable()) {
+            logger.warn("Vector fitness kernel requested but jdk.incubator.vector is not available " +
+                    "(start the JVM with --add-modules jdk.incubator.vector). Using the scalar kernel.");
         }
     }
 
     public AssignmentResult run(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList) {
+        return run(volunteerMap, serviceDetailsList, serviceDetailsList.size());
+    }
+
+    /**
+     * Runs the GA on part of a larger problem. penaltyServiceCount is the Nd of the whole catalog,
+     * so the 10 * Nd^2 non-preferred penalty stays the same as in a full run.
+     */
+    public AssignmentResult run(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList, int penaltyServiceCount) {
+        return run(volunteerMap, serviceDetailsList, penaltyServiceCount, NO_DEADLINE);
+    }
+
+    /**
+     * Stops evolving at the deadline (a System.nanoTime value) and returns the best plan found so far,
+     * with DEADLINE_MESSAGE instead of COMPLETE_MESSAGE. The final local search is cut short as well.
+     * A run that gets within ga.lower-bound.stop-gap of the lower bound stops early and counts as complete.
+     */
+    public AssignmentResult run(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList, int penaltyServiceCount,
+                                long deadlineNanos) {
+        return run(volunteerMap, serviceDetailsList, penaltyServiceCount, deadlineNanos, parametersFor(volunteerMap.size()));
+    }
+
+    /** Runs with the given operator settings instead of the configured ga.parameters mode. */
+    public AssignmentResult run(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList, int penaltyServiceCount,
+                                long deadlineNanos, GaParameters parameters) {
+        return solve(volunteerMap, serviceDetailsList, penaltyServiceCount, deadlineNanos, parameters, null);
+    }
+
+    /**
+     * Runs with a caller's overrides of the configured settings (GaParameterOverrides.NONE for none), seeding part of
+     * the initial population (ga.seeding.demand-share) from serviceDemand: the number of volunteers ranking each
+     * service by service ID, as counted by the event's ServiceDemandIndex. Without it nothing is seeded.
+     */
+    public AssignmentResult run(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList, int penaltyServiceCount,
+                                long deadlineNanos, GaParameterOverrides overrides, Map<String, Integer> serviceDemand) {
+        return solve(volunteerMap, serviceDetailsList, penaltyServiceCount, deadlineNanos,
+                parametersFor(volunteerMap.size(), overrides), serviceDemand);
+    }
+
+    private AssignmentResult solve(Map<String, Volunteer> volunteerMap, List<ServiceDetails> serviceDetailsList, int penaltyServiceCount,
+                                   long deadlineNanos, GaParameters parameters, Map<String, Integer> serviceDemand) {
         logger.info("Starting GA with {} volunteers and {} services.", volunteerMap.size(), serviceDetailsList.size());
+        logger.debug("GA parameters: {}", parameters);
         if (volunteerMap.isEmpty() || serviceDetailsList.isEmpty()) {
             AssignmentResult emptyResult = new AssignmentResult();
             emptyResult.setMessage("Cannot run GA: No volunteers or services.");
@@ -45,194 +116,114 @@ public class GeneticAlgorithmService {
             return emptyResult;
         }
 
-        List<Volunteer> volunteers = new ArrayList<>(volunteerMap.values());
-        Map<String, ServiceDetails> serviceMap = serviceDetailsList.stream()
-                .collect(Collectors.toMap(ServiceDetails::getId, s -> s));
-
-        List<Chromosome> population = initializePopulation(volunteers, serviceDetailsList);
-        evaluatePopulation(population, volunteers, serviceMap, serviceDetailsList.size());
-
-        for (int generation = 0; generation < MAX_GENERATIONS; generation++) {
-            List<Chromosome> newPopulation = new ArrayList<>();
-            while (newPopulation.size() < POPULATION_SIZE) {
-                Chromosome parent1 = selectParent(population);
-                Chromosome parent2 = selectParent(population);
-                Chromosome offspring1 = new Chromosome(new ArrayList<>(parent1.assignments));
-                Chromosome offspring2 = new Chromosome(new ArrayList<>(parent2.assignments));
-
-                if (ThreadLocalRandom.current().nextDouble() < CROSSOVER_RATE) {
-                    crossover(parent1, parent2, offspring1, offspring2);
-                }
-
-                mutate(offspring1, serviceDetailsList);
-                mutate(offspring2, serviceDetailsList);
-
-                newPopulation.add(offspring1);
-                if (newPopulation.size() < POPULATION_SIZE) {
-                    newPopulation.add(offspring2);
+        AssignmentProblem problem = new AssignmentProblem(new ArrayList<>(volunteerMap.values()), serviceDetailsList,
+                penaltyServiceCount, serviceDemand);
+        double bound = lowerBound(problem);
+        double targetCost = lowerBound.targetCost(bound);
+        int[] bestGenes;
+        double bestCost; // Fitness includes capacity penalties
+        boolean complete;
+        if (islandModel.isEnabled()) {
+            IslandModel.Best best = islandModel.evolve(problem, parameters.populationSize(),
+                    islandProblem -> createIsland(islandProblem, parameters).reportingGapTo(bound), parameters.maxGenerations(),
+                    deadlineNanos, targetCost);
+            bestGenes = best.genes();
+            bestCost = best.cost();
+            complete = best.complete();
+        } else {
+            try (Island island = createIsland(problem, parameters).stoppingAt(targetCost).reportingGapTo(bound)) {
+                int maxGenerations = parameters.maxGenerations();
+                int generations = island.evolve(maxGenerations, deadlineNanos);
+                bestGenes = island.best(1)[0];
+                bestCost = island.bestCost();
+                // A deadline that stopped the run wins over the target, as in IslandModel
+                complete = generations == maxGenerations || (bestCost <= targetCost && !isPast(deadlineNanos));
+                if (!complete) {
+                    logger.info("Deadline reached after {} of {} generations.", generations, maxGenerations);
+                } else if (generations < maxGenerations) {
+                    logger.info("Gap target reached after {} of {} generations.", generations, maxGenerations);
                 }
             }
-            population = newPopulation;
-            evaluatePopulation(population, volunteers, serviceMap, serviceDetailsList.size());
-
-            // Optional: Elitism - carry over the best individual
-            // population.sort(Comparator.comparingDouble(c -> c.fitness));
-            // Chromosome bestThisGen = population.get(0);
-            // logger.info("Generation {}: Best Fitness = {}", generation, bestThisGen.fitness);
         }
+        logger.info("GA finished. Best fitness (total cost): {}, lower bound: {}, gap: {}", bestCost, bound, LowerBound.formatGap(bestCost, bound));
 
-        population.sort(Comparator.comparingDouble(c -> c.fitness));
-        Chromosome bestChromosome = population.get(0);
-        logger.info("GA finished. Best fitness (total cost): {}", bestChromosome.fitness);
-
-        return convertChromosomeToAssignmentResult(bestChromosome, volunteers, serviceMap, serviceDetailsList.size());
-    }
-
-    private List<Chromosome> initializePopulation(List<Volunteer> volunteers, List<ServiceDetails> services) {
-        List<Chromosome> population = new ArrayList<>();
-        List<String> serviceIds = services.stream().map(ServiceDetails::getId).collect(Collectors.toList());
-        if (serviceIds.isEmpty()) {
-            // Handle case where no services are available, though checked earlier
-            return population;
+        long localSearchNanos = Math.min(localSearch.finalTimeLimitNanos(), remainingNanos(deadlineNanos));
+        if (localSearch.isEnabled() && localSearchNanos > 0 && bestCost > targetCost) {
+            double gaCost = bestCost;
+            bestCost = localSearch.improve(problem, bestGenes, localSearchNanos);
+            logger.info("Local search brought the best cost from {} to {} (gap: {})", gaCost, bestCost, LowerBound.formatGap(bestCost, bound));
         }
-
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            List<String> assignments = new ArrayList<>();
-            for (int j = 0; j < volunteers.size(); j++) {
-                // Randomly assign a service initially
-                assignments.add(serviceIds.get(ThreadLocalRandom.current().nextInt(serviceIds.size())));
-            }
-            population.add(new Chromosome(assignments));
-        }
-        return population;
+        AssignmentResult result = problem.toAssignmentResult(bestGenes, bestCost, complete ? COMPLETE_MESSAGE : DEADLINE_MESSAGE);
+        LowerBound.report(result, bound);
+        return result;
     }
 
-    private void evaluatePopulation(List<Chromosome> population, List<Volunteer> volunteers, Map<String, ServiceDetails> serviceMap, int numDistinctServices) {
-        for (Chromosome chromosome : population) {
-            chromosome.fitness = calculateFitness(chromosome, volunteers, serviceMap, numDistinctServices);
-        }
+    /** Lower bound on the total cost of any plan for the problem (see LowerBound). */
+    double lowerBound(AssignmentProblem problem) {
+        long start = System.nanoTime();
+        double bound = lowerBound.compute(problem);
+        logger.debug("Lower bound {} computed in {} us", bound, (System.nanoTime() - start) / 1_000);
+        return bound;
     }
 
-    private double calculateFitness(Chromosome chromosome, List<Volunteer> volunteers, Map<String, ServiceDetails> serviceMap, int numDistinctServices) {
-        double totalCost = 0;
-        Map<String, Integer> serviceCounts = new HashMap<>();
-
-        for (int i = 0; i < volunteers.size(); i++) {
-            Volunteer volunteer = volunteers.get(i);
-            String assignedServiceId = chromosome.assignments.get(i);
-            serviceCounts.put(assignedServiceId, serviceCounts.getOrDefault(assignedServiceId, 0) + 1);
-
-            int preferenceRank = 0; // 0 if not preferred
-            if (volunteer.getPreferredServicesRanks() != null) {
-                for (Map.Entry<Integer, String> entry : volunteer.getPreferredServicesRanks().entrySet()) {
-                    if (entry.getValue().equals(assignedServiceId)) {
-                        preferenceRank = entry.getKey();
-                        break;
-                    }
-                }
-            }
-
-            if (preferenceRank > 0) { // It's a preferred service
-                totalCost += Math.pow(preferenceRank - 1, 2);
-            } else { // Not in preferred list
-                // Nd is the total number of distinct services (or a fixed penalty if preferred)
-                // Using numDistinctServices as Nd as per slides "10 x Nd^2"
-                totalCost += (double) ND_PENALTY_SQUARED_BASE * numDistinctServices * numDistinctServices;
+    /**
+     * Re-optimizes from an existing plan instead of a new population, e.g. after a capacity change: volunteers are
+     * moved out of services left overfull (CapacityRepair), then the local search continues from there.
+     * Genes are updated in place.
+     *
+     * @param cost total cost of genes under problem; returned unchanged when there is nothing to improve
+     * @return the total cost of the updated plan
+     */
+    double warmStart(AssignmentProblem problem, int[] genes, double cost) {
+        try (GeneMatrix plan = GeneMatrix.allocate(1, genes.length, false)) {
+            plan.writeRow(0, genes);
+            int moved = new CapacityRepair(problem).repair(plan, 0);
+            if (moved > 0) {
+                plan.readRow(0, genes);
+                cost = problem.totalCost(genes);
+                logger.info("Warm start moved {} volunteers out of overfull services.", moved);
             }
         }
-
-        // Add penalty for exceeding service capacity
-        for (Map.Entry<String, Integer> entry : serviceCounts.entrySet()) {
-            ServiceDetails service = serviceMap.get(entry.getKey());
-            if (service != null && entry.getValue() > service.getMaxVolunteers()) {
-                // Heavy penalty for exceeding capacity
-                totalCost += 1000 * (entry.getValue() - service.getMaxVolunteers());
-            }
+        if (localSearch.isEnabled()) {
+            cost = localSearch.improve(problem, genes, localSearch.finalTimeLimitNanos());
         }
-        return totalCost;
+        return cost;
     }
 
-    private Chromosome selectParent(List<Chromosome> population) { // Tournament selection
-        Chromosome bestInTournament = null;
-        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
-            Chromosome randomContender = population.get(ThreadLocalRandom.current().nextInt(population.size()));
-            if (bestInTournament == null || randomContender.fitness < bestInTournament.fitness) {
-                bestInTournament = randomContender;
-            }
-        }
-        return bestInTournament;
-    }
-
-    private void crossover(Chromosome parent1, Chromosome parent2, Chromosome offspring1, Chromosome offspring2) {
-        // Single-point crossover
-        int crossoverPoint = ThreadLocalRandom.current().nextInt(parent1.assignments.size());
-        for (int i = 0; i < parent1.assignments.size(); i++) {
-            if (i < crossoverPoint) {
-                offspring1.assignments.set(i, parent1.assignments.get(i));
-                offspring2.assignments.set(i, parent2.assignments.get(i));
-            } else {
-                offspring1.assignments.set(i, parent2.assignments.get(i));
-                offspring2.assignments.set(i, parent1.assignments.get(i));
-            }
-        }
+    static boolean isPast(long deadlineNanos) {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0;
     }
 
-    private void mutate(Chromosome chromosome, List<ServiceDetails> services) {
-        List<String> serviceIds = services.stream().map(ServiceDetails::getId).collect(Collectors.toList());
-        if (serviceIds.isEmpty()) return;
-
-        for (int i = 0; i < chromosome.assignments.size(); i++) {
-            if (ThreadLocalRandom.current().nextDouble() < MUTATION_RATE) {
-                chromosome.assignments.set(i, serviceIds.get(ThreadLocalRandom.current().nextInt(serviceIds.size())));
-            }
-        }
+    static long remainingNanos(long deadlineNanos) {
+        return deadlineNanos == NO_DEADLINE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
     }
 
-    private AssignmentResult convertChromosomeToAssignmentResult(Chromosome chromosome, List<Volunteer> volunteers, Map<String, ServiceDetails> serviceMap, int numDistinctServices) {
-        List<Assignment> assignmentsList = new ArrayList<>();
-        double calculatedTotalCost = 0; // Recalculate for the final assignment list
+    /** Operator settings of the configured ga.parameters mode for an instance of volunteerCount volunteers. */
+    GaParameters parametersFor(int volunteerCount) {
+        return parametersFor(parameterMode, volunteerCount);
+    }
 
-        for (int i = 0; i < volunteers.size(); i++) {
-            Volunteer volunteer = volunteers.get(i);
-            String assignedServiceId = chromosome.assignments.get(i);
-            double cost = 0;
-            int preferenceRank = 0;
+    /** Operator settings for an instance of volunteerCount volunteers with a caller's overrides applied. */
+    GaParameters parametersFor(int volunteerCount, GaParameterOverrides overrides) {
+        String mode = overrides.parameters() != null ? overrides.parameters() : parameterMode;
+        return overrides.applyTo(parametersFor(mode, volunteerCount));
+    }
 
-            if (volunteer.getPreferredServicesRanks() != null) {
-                for (Map.Entry<Integer, String> entry : volunteer.getPreferredServicesRanks().entrySet()) {
-                    if (entry.getValue().equals(assignedServiceId)) {
-                        preferenceRank = entry.getKey();
-                        break;
-                    }
-                }
-            }
+    private static GaParameters parametersFor(String mode, int volunteerCount) {
+        return GaParameters.ADAPTIVE_MODE.equalsIgnoreCase(mode) ? GaParameters.adaptiveFor(volunteerCount) : GaParameters.FIXED;
+    }
 
-            if (preferenceRank > 0) {
-                cost = Math.pow(preferenceRank - 1, 2);
-            } else {
-                cost = (double) ND_PENALTY_SQUARED_BASE * numDistinctServices * numDistinctServices;
-            }
-            calculatedTotalCost += cost;
-            assignmentsList.add(new Assignment(volunteer.getId(), assignedServiceId, cost, preferenceRank));
-        }
-        // Capacity penalty check (though GA fitness should have minimized this)
-        Map<String, Integer> serviceCounts = assignmentsList.stream()
-                .collect(Collectors.groupingBy(Assignment::getServiceId, Collectors.summingInt(a -> 1)));
-
-        for (Map.Entry<String, Integer> entry : serviceCounts.entrySet()) {
-            ServiceDetails service = serviceMap.get(entry.getKey());
-            if (service != null && entry.getValue() > service.getMaxVolunteers()) {
-                calculatedTotalCost += 1000 * (entry.getValue() - service.getMaxVolunteers()); // Add penalty again if over capacity
-                logger.warn("Service {} is over capacity in final assignment: {}/{}", service.getId(), entry.getValue(), service.getMaxVolunteers());
-            }
-        }
+    Island createIsland(AssignmentProblem problem) {
+        return createIsland(problem, parametersFor(problem.volunteerCount()));
+    }
 
+    /** An island of the given size, e.g. one hosted for another instance that chose the population size. */
+    Island createIsland(AssignmentProblem problem, int populationSize) {
+        return createIsland(problem, parametersFor(problem.volunteerCount()).withPopulationSize(populationSize));
+    }
 
-        AssignmentResult result = new AssignmentResult();
-        result.setAssignments(assignmentsList);
-        result.setTotalCost(chromosome.fitness); // Use fitness from GA, as it includes capacity penalties
-        // result.setTotalCost(calculatedTotalCost); // Or recalculate here if you prefer
-        result.setMessage("Optimization complete. Best assignment found.");
-        return result;
+    /** A new population (partly demand-seeded if the problem has demand, partly random) with this service's settings. */
+    Island createIsland(AssignmentProblem problem, GaParameters parameters) {
+        return new Island(problem, parameters, offHeapPopulation, fitnessKernel, repairOperator, localSearch, demandSeededShare);
     }
 }
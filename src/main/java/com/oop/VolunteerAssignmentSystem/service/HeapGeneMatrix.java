@@ -0,0 +1,62 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+/**
+ * Default population storage: one int[] on the Java heap, row-major.
+ */
+final class HeapGeneMatrix implements GeneMatrix {
+    private final int rows;
+    private final int columns;
+    private int[] genes;
+
+    HeapGeneMatrix(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.genes = new int[Math.multiplyExact(rows, columns)];
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public int get(int row, int column) {
+        return genes[row * columns + column];
+    }
+
+    @Override
+    public void set(int row, int column, int gene) {
+        genes[row * columns + column] = gene;
+    }
+
+    @Override
+    public void copyRow(int row, GeneMatrix target, int targetRow) {
+        if (target instanceof HeapGeneMatrix heapTarget) {
+            System.arraycopy(genes, row * columns, heapTarget.genes, targetRow * columns, columns);
+            return;
+        }
+        for (int c = 0; c < columns; c++) {
+            target.set(targetRow, c, genes[row * columns + c]);
+        }
+    }
+
+    @Override
+    public void readRow(int row, int[] target) {
+        System.arraycopy(genes, row * columns, target, 0, columns);
+    }
+
+    @Override
+    public void writeRow(int row, int[] source) {
+        System.arraycopy(source, 0, genes, row * columns, columns);
+    }
+
+    @Override
+    public void close() {
+        genes = null;
+    }
+}
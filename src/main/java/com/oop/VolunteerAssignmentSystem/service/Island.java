@@ -0,0 +1,411 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One GA population and its operators, evolved in place.
+ * <p>
+ * Chromosomes are rows of a GeneMatrix: gene i is the index of the service for volunteer i.
+ * Two matrices are used, the current generation and the offspring being built, and swapped each generation.
+ * A single run uses one island; the island model (see IslandModel) evolves several and exchanges migrants between them.
+ * <p>
+ * With adaptive parameters (see GaParameters) the island adjusts its own mutation rate and tournament size each
+ * generation: a stalled search or a population that has converged gets more mutation and less selection pressure,
+ * while progress brings mutation back towards its starting rate and a diverse population gets more pressure.
+ */
+final class Island implements IslandHandle {
+    private static final Logger logger = LoggerFactory.getLogger(Island.class);
+
+    // Online control of adaptive runs
+    static final int STALL_GENERATIONS = 5; // Generations without a new best before mutation is raised
+    static final double LOW_DIVERSITY = 0.02; // Share of differing genes between random pairs of chromosomes
+    static final double HIGH_DIVERSITY = 0.2;
+    static final int MAX_MUTATION_BOOST = 8; // Times the starting mutation rate
+    private static final int DIVERSITY_SAMPLE_PAIRS = 16;
+    private static final int DIVERSITY_SAMPLE_GENES = 64;
+
+    private final AssignmentProblem problem;
+    private final int populationSize;
+    private final GaParameters parameters;
+    private double mutationRate;
+    private int tournamentSize;
+    private int stalledGenerations;
+    private final FitnessEvaluator evaluator;
+    private final CapacityRepair repair; // null when the repair operator is off
+    private final MemeticLocalSearch localSearch;
+    // Share of the initial population built from the demand-aware seed rather than uniformly at random
+    private final double demandSeededShare;
+    private GeneMatrix population;
+    private GeneMatrix offspring;
+    // Volunteers per service of each row, kept up to date by the operators for the repair; null when it is off
+    private int[][] populationCounts;
+    private int[][] offspringCounts;
+    private final double[] fitness; // Lower is better (cost)
+    private int generation;
+    private double targetCost = Double.NEGATIVE_INFINITY; // evolve stops once the best cost is at most this
+    private double lowerBound = Double.NaN; // Bound of the run, for the gap in the progress log; NaN if not known
+
+    /**
+     * @param demandSeededShare share of the initial population seeded from the volunteers' preferences and the
+     *                          demand for each service (0 to 1); no rows are seeded if the problem has no demand
+     */
+    Island(AssignmentProblem problem, GaParameters parameters, boolean offHeap, String fitnessKernel, String repairOperator,
+           MemeticLocalSearch localSearch, double demandSeededShare) {
+        this.problem = problem;
+        this.parameters = parameters;
+        this.populationSize = parameters.populationSize();
+        this.mutationRate = parameters.mutationRate();
+        this.tournamentSize = parameters.tournamentSize();
+        this.evaluator = FitnessEvaluator.create(problem, fitnessKernel);
+        this.repair = CapacityRepair.CAPACITY.equalsIgnoreCase(repairOperator) ? new CapacityRepair(problem) : null;
+        this.localSearch = localSearch;
+        this.demandSeededShare = demandSeededShare;
+        this.population = GeneMatrix.allocate(populationSize, problem.volunteerCount(), offHeap);
+        this.offspring = GeneMatrix.allocate(populationSize, problem.volunteerCount(), offHeap);
+        this.fitness = new double[populationSize];
+        if (repair != null) {
+            this.populationCounts = new int[populationSize][problem.serviceCount()];
+            this.offspringCounts = new int[populationSize][problem.serviceCount()];
+        }
+
+        initializePopulation();
+        for (int i = 0; i < populationSize; i++) {
+            recount(i);
+        }
+        repairPopulation(population, populationCounts);
+        evaluatePopulation();
+    }
+
+    AssignmentProblem problem() {
+        return problem;
+    }
+
+    /** Makes evolve stop early once the best chromosome costs at most targetCost (see LowerBound.targetCost). */
+    Island stoppingAt(double targetCost) {
+        this.targetCost = targetCost;
+        return this;
+    }
+
+    /** Logs the gap to the run's lower bound (computed once per run) with the progress of each generation. */
+    Island reportingGapTo(double lowerBound) {
+        this.lowerBound = lowerBound;
+        return this;
+    }
+
+    void evolve(int generations) {
+        evolve(generations, GeneticAlgorithmService.NO_DEADLINE);
+    }
+
+    /**
+     * Evolves until the given number of generations is done, the deadline passes or the target cost is reached;
+     * returns the generations done.
+     */
+    int evolve(int generations, long deadlineNanos) {
+        for (int g = 0; g < generations; g++) {
+            if (GeneticAlgorithmService.isPast(deadlineNanos) || bestCost() <= targetCost) {
+                return g;
+            }
+            for (int child = 0; child < populationSize; child += 2) {
+                int parent1 = selectParent();
+                int parent2 = selectParent();
+                int offspring1 = child;
+                int offspring2 = child + 1 < populationSize ? child + 1 : -1; // No room for a second child
+
+                copyToOffspring(parent1, offspring1);
+                if (offspring2 >= 0) {
+                    copyToOffspring(parent2, offspring2);
+                }
+
+                if (ThreadLocalRandom.current().nextDouble() < parameters.crossoverRate()) {
+                    crossover(parent1, parent2, offspring1, offspring2);
+                }
+
+                mutate(offspring1);
+                if (offspring2 >= 0) {
+                    mutate(offspring2);
+                }
+            }
+            double previousBest = parameters.adaptive() ? bestCost() : 0;
+            repairPopulation(offspring, offspringCounts);
+            GeneMatrix previous = population;
+            population = offspring;
+            offspring = previous;
+            int[][] previousCounts = populationCounts;
+            populationCounts = offspringCounts;
+            offspringCounts = previousCounts;
+            evaluatePopulation();
+            generation++;
+            if (localSearch.isEliteGeneration(generation)) {
+                polishElites();
+            }
+            if (parameters.adaptive()) {
+                adaptRates(previousBest);
+            }
+            if (logger.isDebugEnabled()) {
+                double best = bestCost();
+                logger.debug("Generation {}: best fitness (total cost) {}, gap {}", generation, best,
+                        Double.isNaN(lowerBound) ? "unknown" : LowerBound.formatGap(best, lowerBound));
+            }
+        }
+        return generations;
+    }
+
+    EpochResult runEpoch(int generations, int[][] immigrants, int emigrantCount) {
+        return runEpoch(generations, immigrants, emigrantCount, GeneticAlgorithmService.NO_DEADLINE);
+    }
+
+    @Override
+    public EpochResult runEpoch(int generations, int[][] immigrants, int emigrantCount, long deadlineNanos) {
+        immigrate(immigrants);
+        int done = evolve(generations, deadlineNanos);
+        return new EpochResult(bestCost(), best(emigrantCount), done);
+    }
+
+    double mutationRate() {
+        return mutationRate;
+    }
+
+    int tournamentSize() {
+        return tournamentSize;
+    }
+
+    double bestCost() {
+        return fitness[bestRow()];
+    }
+
+    /** Copies of the best chromosomes, best first. */
+    int[][] best(int count) {
+        int[] rows = rankedRows(Math.min(count, populationSize), true);
+        int[][] genes = new int[rows.length][problem.volunteerCount()];
+        for (int i = 0; i < rows.length; i++) {
+            population.readRow(rows[i], genes[i]);
+        }
+        return genes;
+    }
+
+    /** Replaces the worst chromosomes with the given ones. */
+    void immigrate(int[][] immigrants) {
+        int[] rows = rankedRows(Math.min(immigrants.length, populationSize), false);
+        for (int i = 0; i < rows.length; i++) {
+            population.writeRow(rows[i], immigrants[i]);
+            recount(rows[i]);
+            fitness[rows[i]] = evaluator.evaluate(population, rows[i]);
+        }
+    }
+
+    @Override
+    public void close() {
+        population.close();
+        offspring.close();
+    }
+
+    private int bestRow() {
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (fitness[i] < fitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Indices of the count best (or worst) rows, by repeated selection since count is small
+    private int[] rankedRows(int count, boolean best) {
+        int[] rows = new int[count];
+        boolean[] taken = new boolean[populationSize];
+        for (int r = 0; r < count; r++) {
+            int pick = -1;
+            for (int i = 0; i < populationSize; i++) {
+                if (!taken[i] && (pick < 0 || (best ? fitness[i] < fitness[pick] : fitness[i] > fitness[pick]))) {
+                    pick = i;
+                }
+            }
+            taken[pick] = true;
+            rows[r] = pick;
+        }
+        return rows;
+    }
+
+    private void initializePopulation() {
+        int seeded = problem.hasDemand() ? (int) (population.rows() * demandSeededShare) : 0;
+        for (int i = 0; i < population.rows(); i++) {
+            for (int j = 0; j < population.columns(); j++) {
+                // Seeded rows draw from the volunteer's preferences, the rest assign a service at random
+                population.set(i, j, i < seeded ? seededService(j) : ThreadLocalRandom.current().nextInt(problem.serviceCount()));
+            }
+        }
+    }
+
+    /*
+     * Demand-aware seed gene: one of the volunteer's preferred services, drawn with a weight that favours good ranks
+     * (1 / (1 + (rank-1)^2), mirroring the gene cost) and services with capacity for everyone who wants them
+     * (capacity / demand, at most 1). Oversubscribed services are still drawn, just less often, so the seeded rows
+     * spread volunteers over their options instead of piling them onto the popular first choices.
+     * Volunteers without usable preferences get a random service with room left after the demand for it.
+     */
+    private int seededService(int v) {
+        int[] preferred = problem.preferredServices(v);
+        int[] ranks = problem.preferredRanks(v);
+        double[] weights = new double[preferred.length];
+        double total = 0;
+        for (int i = 0; i < preferred.length; i++) {
+            int s = preferred[i];
+            double share = Math.min(1.0, (double) problem.capacity(s) / problem.demand(s));
+            weights[i] = share / (1 + (ranks[i] - 1) * (ranks[i] - 1));
+            total += weights[i];
+        }
+        if (total > 0) {
+            double pick = ThreadLocalRandom.current().nextDouble(total);
+            for (int i = 0; i < preferred.length; i++) {
+                pick -= weights[i];
+                if (pick < 0) {
+                    return preferred[i];
+                }
+            }
+            return preferred[preferred.length - 1];
+        }
+        return spareService();
+    }
+
+    private int spareService() {
+        int services = problem.serviceCount();
+        int start = ThreadLocalRandom.current().nextInt(services);
+        for (int k = 0; k < services; k++) { // Random start, first service with room left
+            int s = (start + k) % services;
+            if (problem.capacity(s) > problem.demand(s)) {
+                return s;
+            }
+        }
+        return start;
+    }
+
+    private void repairPopulation(GeneMatrix matrix, int[][] counts) {
+        if (repair == null) {
+            return;
+        }
+        for (int i = 0; i < matrix.rows(); i++) {
+            repair.repair(matrix, i, counts[i]);
+        }
+    }
+
+    private void copyToOffspring(int parent, int child) {
+        population.copyRow(parent, offspring, child);
+        if (repair != null) {
+            System.arraycopy(populationCounts[parent], 0, offspringCounts[child], 0, populationCounts[parent].length);
+        }
+    }
+
+    // Sets an offspring gene, moving the volunteer between the row's service counts
+    private void setOffspringGene(int row, int volunteer, int service) {
+        if (repair != null) {
+            int[] counts = offspringCounts[row];
+            counts[offspring.get(row, volunteer)]--;
+            counts[service]++;
+        }
+        offspring.set(row, volunteer, service);
+    }
+
+    // Counts a population row from scratch, after it was replaced as a whole
+    private void recount(int row) {
+        if (repair != null) {
+            CapacityRepair.count(population, row, populationCounts[row]);
+        }
+    }
+
+    // Memetic step: take the fittest few chromosomes to their local optimum and put them back into the population
+    private void polishElites() {
+        int[] genes = new int[population.columns()];
+        for (int elite : rankedRows(Math.min(localSearch.eliteCount(), populationSize), true)) {
+            population.readRow(elite, genes);
+            fitness[elite] = localSearch.improve(problem, genes, localSearch.eliteTimeLimitNanos());
+            population.writeRow(elite, genes);
+            recount(elite);
+        }
+    }
+
+    private void adaptRates(double previousBest) {
+        if (bestCost() < previousBest) {
+            stalledGenerations = 0;
+            mutationRate = Math.max(parameters.mutationRate(), mutationRate * 0.8);
+        } else {
+            stalledGenerations++;
+        }
+        double diversity = diversity();
+        if (stalledGenerations >= STALL_GENERATIONS || diversity < LOW_DIVERSITY) {
+            mutationRate = Math.min(Math.min(1, parameters.mutationRate() * MAX_MUTATION_BOOST), mutationRate * 1.5);
+            tournamentSize = Math.max(2, tournamentSize - 1);
+            stalledGenerations = 0;
+        } else if (diversity > HIGH_DIVERSITY) {
+            tournamentSize = Math.min(parameters.tournamentSize() + 2, tournamentSize + 1);
+        }
+    }
+
+    // Estimated share of genes on which two chromosomes differ, from a small random sample of pairs and genes
+    private double diversity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int genes = Math.min(DIVERSITY_SAMPLE_GENES, population.columns());
+        int differing = 0;
+        for (int pair = 0; pair < DIVERSITY_SAMPLE_PAIRS; pair++) {
+            int a = random.nextInt(populationSize);
+            int b = random.nextInt(populationSize);
+            for (int k = 0; k < genes; k++) {
+                int gene = random.nextInt(population.columns());
+                if (population.get(a, gene) != population.get(b, gene)) {
+                    differing++;
+                }
+            }
+        }
+        return (double) differing / (DIVERSITY_SAMPLE_PAIRS * genes);
+    }
+
+    private void evaluatePopulation() {
+        for (int i = 0; i < population.rows(); i++) {
+            fitness[i] = evaluator.evaluate(population, i);
+        }
+    }
+
+    private int selectParent() { // Tournament selection
+        int bestInTournament = -1;
+        for (int i = 0; i < tournamentSize; i++) {
+            int randomContender = ThreadLocalRandom.current().nextInt(populationSize);
+            if (bestInTournament < 0 || fitness[randomContender] < fitness[bestInTournament]) {
+                bestInTournament = randomContender;
+            }
+        }
+        return bestInTournament;
+    }
+
+    private void crossover(int parent1, int parent2, int offspring1, int offspring2) {
+        // Single-point crossover; offspring rows already hold copies of their parents, so only the tails are swapped
+        int crossoverPoint = ThreadLocalRandom.current().nextInt(population.columns());
+        for (int i = crossoverPoint; i < population.columns(); i++) {
+            setOffspringGene(offspring1, i, population.get(parent2, i));
+            if (offspring2 >= 0) {
+                setOffspringGene(offspring2, i, population.get(parent1, i));
+            }
+        }
+    }
+
+    private void mutate(int row) {
+        if (mutationRate <= 0) {
+            return;
+        }
+        // Jumps straight to the next mutated gene (geometric gaps) instead of drawing a number for every gene,
+        // so a low rate on a long chromosome costs a few draws rather than one per volunteer
+        double logKeep = Math.log1p(-mutationRate);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int columns = offspring.columns();
+        for (int i = skipped(logKeep, columns, random); i < columns; i += 1 + skipped(logKeep, columns, random)) {
+            setOffspringGene(row, i, random.nextInt(problem.serviceCount()));
+        }
+    }
+
+    // Genes left alone before the next mutation (geometric with success probability mutationRate), at most limit
+    private static int skipped(double logKeep, int limit, ThreadLocalRandom random) {
+        double gap = Math.floor(Math.log(1 - random.nextDouble()) / logKeep); // 0 when every gene mutates
+        return (int) Math.min(gap, limit);
+    }
+}
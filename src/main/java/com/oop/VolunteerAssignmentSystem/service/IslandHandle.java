@@ -0,0 +1,25 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import java.io.IOException;
+
+/**
+ * An island of the island model, evolved either in this JVM (Island) or by a worker process (RemoteIsland).
+ */
+interface IslandHandle extends AutoCloseable {
+
+    /**
+     * Best cost on the island and its best chromosomes (best first) after an epoch, and the generations it ran:
+     * fewer than asked for if the deadline cut it short.
+     */
+    record EpochResult(double bestCost, int[][] emigrants, int generations) {
+    }
+
+    /**
+     * Replaces the worst chromosomes with the immigrants, evolves for up to the given generations and reports the
+     * best ones. Evolution stops at the deadline (a System.nanoTime value of this JVM, or NO_DEADLINE).
+     */
+    EpochResult runEpoch(int generations, int[][] immigrants, int emigrantCount, long deadlineNanos) throws IOException;
+
+    @Override
+    void close();
+}
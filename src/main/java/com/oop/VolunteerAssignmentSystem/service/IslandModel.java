@@ -0,0 +1,228 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Island model for the GA: several populations evolve independently and, every migrationInterval generations,
+ * each sends copies of its best chromosomes to the next island in a ring, where they replace the worst ones.
+ * <p>
+ * Islands are either local (evolved on the calling optimizer thread) or hosted by worker processes listed in
+ * ga.islands.workers (see IslandWorkerServer), which run their epochs concurrently with the local ones.
+ * A worker that cannot be reached, fails or exceeds the timeout is dropped and its island is continued locally,
+ * seeded with the last chromosomes it reported, so a dead worker costs search effort but never the run.
+ * Workers get the run's deadline with every epoch and are only waited for until shortly after it.
+ */
+@Component
+public class IslandModel {
+    private static final Logger logger = LoggerFactory.getLogger(IslandModel.class);
+    // How long after the deadline a worker's epoch may still arrive (network and the generation in progress)
+    private static final long REMOTE_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final int localIslands;
+    private final List<InetSocketAddress> workers;
+    private final int migrationInterval;
+    private final int migrants;
+    private final int workerTimeoutMillis;
+    private final String secret;
+
+    public IslandModel(@Value("${ga.islands.count:1}") int localIslands,
+                       @Value("${ga.islands.workers:}") String workers,
+                       @Value("${ga.islands.migration-interval:20}") int migrationInterval,
+                       @Value("${ga.islands.migrants:2}") int migrants,
+                       @Value("${ga.islands.worker-timeout-ms:30000}") int workerTimeoutMillis,
+                       @Value("${ga.islands.secret:}") String secret) {
+        this.localIslands = Math.max(1, localIslands);
+        this.workers = parseAddresses(workers);
+        this.migrationInterval = Math.max(1, Math.min(migrationInterval, IslandProtocol.MAX_EPOCH_GENERATIONS)); // Epoch length workers accept
+        this.migrants = Math.max(0, migrants);
+        this.workerTimeoutMillis = workerTimeoutMillis;
+        this.secret = secret;
+    }
+
+    /** False for the classic single-population GA. */
+    public boolean isEnabled() {
+        return localIslands > 1 || !workers.isEmpty();
+    }
+
+    /** Best chromosome found by any island; complete is false if the deadline cut the run short. */
+    record Best(int[] genes, double cost, boolean complete) {
+    }
+
+    /**
+     * Evolves all configured islands for the given number of generations.
+     * localIslandFactory creates a local island with a fresh random population.
+     */
+    Best evolve(AssignmentProblem problem, int populationSize, Function<AssignmentProblem, Island> localIslandFactory,
+                int generations, long deadlineNanos) {
+        return evolve(problem, populationSize, localIslandFactory, generations, deadlineNanos, Double.NEGATIVE_INFINITY);
+    }
+
+    /** As above, but stops after the epoch in which some island reaches targetCost (see LowerBound.targetCost). */
+    Best evolve(AssignmentProblem problem, int populationSize, Function<AssignmentProblem, Island> localIslandFactory,
+                int generations, long deadlineNanos, double targetCost) {
+        List<IslandHandle> islands = new ArrayList<>();
+        for (InetSocketAddress worker : workers) {
+            try {
+                islands.add(new RemoteIsland(worker, problem, populationSize, secret, workerTimeoutMillis));
+            } catch (IOException e) {
+                logger.warn("Island worker {} is unavailable ({}); evolving its island locally.", worker, e.getMessage());
+                islands.add(localIslandFactory.apply(problem));
+            }
+        }
+        for (int i = 0; i < localIslands; i++) {
+            islands.add(localIslandFactory.apply(problem));
+        }
+        return evolve(problem, islands, localIslandFactory, generations, deadlineNanos, targetCost);
+    }
+
+    Best evolve(AssignmentProblem problem, List<IslandHandle> islands, Function<AssignmentProblem, Island> localIslandFactory,
+                int generations, long deadlineNanos) {
+        return evolve(problem, islands, localIslandFactory, generations, deadlineNanos, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Runs the epochs on the given islands, which are closed afterwards.
+     * No new epoch starts once the deadline has passed or the target cost is reached, but at least one always runs.
+     */
+    Best evolve(AssignmentProblem problem, List<IslandHandle> islands, Function<AssignmentProblem, Island> localIslandFactory,
+                int generations, long deadlineNanos, double targetCost) {
+        int count = islands.size();
+        int[][][] emigrants = new int[count][][];
+        Arrays.fill(emigrants, new int[0][]);
+        int[] bestGenes = null;
+        double bestCost = Double.MAX_VALUE;
+        boolean complete = true;
+
+        try (ExecutorService remoteCalls = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int done = 0; done < generations; done += migrationInterval) {
+                if (done > 0 && GeneticAlgorithmService.isPast(deadlineNanos)) {
+                    logger.info("Deadline reached after {} generations on each island.", done);
+                    complete = false;
+                    break;
+                }
+                if (bestCost <= targetCost) {
+                    logger.info("Target cost {} reached after {} generations on each island.", targetCost, done);
+                    break;
+                }
+                int epochGenerations = Math.min(migrationInterval, generations - done);
+                int[][][] immigrants = new int[count][][];
+                for (int i = 0; i < count; i++) {
+                    immigrants[i] = emigrants[(i + count - 1) % count]; // Ring topology
+                }
+
+                int emigrantCount = Math.max(1, migrants); // The best one is needed even without migration
+                // Start the remote epochs first so workers evolve while this thread runs the local islands
+                List<Future<IslandHandle.EpochResult>> pending = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    IslandHandle island = islands.get(i);
+                    int[][] incoming = immigrants[i];
+                    pending.add(island instanceof Island ? null
+                            : remoteCalls.submit(() -> island.runEpoch(epochGenerations, incoming, emigrantCount, deadlineNanos)));
+                }
+
+                int[][][] nextEmigrants = new int[count][][];
+                for (int i = 0; i < count; i++) {
+                    IslandHandle.EpochResult result;
+                    if (islands.get(i) instanceof Island local) {
+                        result = local.runEpoch(epochGenerations, immigrants[i], emigrantCount, deadlineNanos);
+                    } else {
+                        result = awaitRemote(islands.get(i), pending.get(i), deadlineNanos);
+                        if (result == null) {
+                            Island replacement = replaceFailedIsland(problem, islands.get(i), emigrants[i], localIslandFactory);
+                            islands.set(i, replacement);
+                            result = replacement.runEpoch(epochGenerations, immigrants[i], emigrantCount, deadlineNanos);
+                        }
+                    }
+                    if (result.generations() < epochGenerations) {
+                        complete = false; // The deadline cut this epoch short
+                    }
+                    nextEmigrants[i] = result.emigrants();
+                    if (result.emigrants().length > 0 && result.bestCost() < bestCost) {
+                        bestCost = result.bestCost();
+                        bestGenes = result.emigrants()[0].clone();
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    emigrants[i] = Arrays.copyOfRange(nextEmigrants[i], 0, Math.min(migrants, nextEmigrants[i].length));
+                }
+            }
+        } finally {
+            islands.forEach(IslandHandle::close);
+        }
+        if (bestGenes == null) {
+            throw new IllegalStateException("No island produced a chromosome");
+        }
+        logger.info("Island model finished with {} islands ({} remote). Best fitness (total cost): {}",
+                count, islands.stream().filter(island -> !(island instanceof Island)).count(), bestCost);
+        return new Best(bestGenes, bestCost, complete);
+    }
+
+    // Null if the worker failed or missed the deadline
+    private IslandHandle.EpochResult awaitRemote(IslandHandle island, Future<IslandHandle.EpochResult> pending, long deadlineNanos) {
+        try {
+            if (deadlineNanos == GeneticAlgorithmService.NO_DEADLINE) {
+                return pending.get(); // Bounded by the worker timeout
+            }
+            return pending.get(Math.max(0, GeneticAlgorithmService.remainingNanos(deadlineNanos)) + REMOTE_GRACE_NANOS,
+                    TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Island worker {} missed the deadline; continuing its island locally.", describe(island));
+            pending.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Island worker {} failed ({}); continuing its island locally.", describe(island), e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for island worker " + describe(island), e);
+        }
+    }
+
+    private Island replaceFailedIsland(AssignmentProblem problem, IslandHandle failed, int[][] lastEmigrants,
+                                       Function<AssignmentProblem, Island> localIslandFactory) {
+        failed.close();
+        Island replacement = localIslandFactory.apply(problem);
+        replacement.immigrate(lastEmigrants);
+        return replacement;
+    }
+
+    private static String describe(IslandHandle island) {
+        return island instanceof RemoteIsland remote ? remote.address().toString() : island.toString();
+    }
+
+    // Comma-separated host:port list
+    private static List<InetSocketAddress> parseAddresses(String workers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        if (workers == null) {
+            return addresses;
+        }
+        for (String worker : workers.split(",")) {
+            String trimmed = worker.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Island worker must be host:port, got: " + trimmed);
+            }
+            addresses.add(InetSocketAddress.createUnresolved(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return addresses;
+    }
+}
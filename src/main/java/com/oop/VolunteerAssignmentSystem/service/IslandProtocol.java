@@ -0,0 +1,263 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Binary protocol between the optimizer (RemoteIsland) and island workers (IslandWorkerServer).
+ * <p>
+ * After connecting, the client sends MAGIC and VERSION. The worker answers with a random challenge, and the client
+ * proves it knows the shared secret (ga.islands.secret) by sending HMAC-SHA256(secret, challenge); the secret itself
+ * never goes over the wire. Then the client sends one INIT describing the problem, answered by OK or ERROR; it includes
+ * the demand for each service if the problem has it, so the worker seeds its population as a local island would.
+ * Each EPOCH carries the number of generations to run, how many emigrants to report, the time left until the
+ * run's deadline (nanoseconds, Long.MAX_VALUE for none; clocks are not shared) and the immigrants to take in.
+ * It is answered by RESULT (best cost, generations actually run and the best chromosomes) or ERROR.
+ * CLOSE ends the session.
+ * <p>
+ * Only the integer encoding of the problem is sent: volunteers and services are anonymous indices, and a chromosome
+ * is volunteerCount ints. All numbers are big-endian, as written by DataOutputStream.
+ * <p>
+ * Every count is checked against the problem or a hard cap before anything is allocated for it, so a peer cannot
+ * make the other side run out of memory with a few bytes. Malformed input fails with ProtocolException.
+ */
+final class IslandProtocol {
+    static final int MAGIC = 0x56415349; // "VASI"
+    static final int VERSION = 4;
+
+    static final int CHALLENGE_BYTES = 16;
+    private static final String HMAC = "HmacSHA256";
+    private static final int PROOF_BYTES = 32;
+    private static final SecureRandom random = new SecureRandom();
+
+    // Hard caps on what a peer may ask for, well above the largest events the optimizer is tuned for
+    static final int MAX_VOLUNTEERS = 200_000;
+    static final int MAX_SERVICES = 10_000;
+    static final long MAX_COST_TABLE_CELLS = 16_000_000; // volunteers x services doubles
+    static final int MAX_RANKED_SERVICES = 5; // Ns <= 5, as for submissions
+    static final int MAX_POPULATION = 1_000;
+    static final long MAX_POPULATION_GENES = 16_000_000; // population x volunteers ints, per matrix
+    static final int MAX_EPOCH_GENERATIONS = 10_000;
+
+    static final byte INIT = 1;
+    static final byte EPOCH = 2;
+    static final byte RESULT = 3;
+    static final byte OK = 4;
+    static final byte ERROR = 5;
+    static final byte CLOSE = 6;
+
+    private IslandProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void readHello(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        int version = in.readInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new ProtocolException("Not an island client (magic " + Integer.toHexString(magic) + ", version " + version + ")");
+        }
+    }
+
+    /** Worker side: sends a fresh challenge and returns it. */
+    static byte[] writeChallenge(DataOutputStream out) throws IOException {
+        byte[] challenge = new byte[CHALLENGE_BYTES];
+        random.nextBytes(challenge);
+        out.write(challenge);
+        return challenge;
+    }
+
+    static byte[] readChallenge(DataInputStream in) throws IOException {
+        byte[] challenge = new byte[CHALLENGE_BYTES];
+        in.readFully(challenge);
+        return challenge;
+    }
+
+    static void writeProof(DataOutputStream out, String secret, byte[] challenge) throws IOException {
+        out.write(proof(secret, challenge));
+    }
+
+    /** Worker side: reads the client's answer to the challenge and checks it in constant time. */
+    static boolean readProof(DataInputStream in, String secret, byte[] challenge) throws IOException {
+        byte[] received = new byte[PROOF_BYTES];
+        in.readFully(received);
+        return MessageDigest.isEqual(received, proof(secret, challenge));
+    }
+
+    private static byte[] proof(String secret, byte[] challenge) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC));
+            return mac.doFinal(challenge);
+        } catch (GeneralSecurityException | IllegalArgumentException e) { // IllegalArgumentException: empty secret
+            throw new IOException("Cannot authenticate island session: " + e.getMessage(), e);
+        }
+    }
+
+    static void writeInit(DataOutputStream out, AssignmentProblem problem, int populationSize) throws IOException {
+        out.writeByte(INIT);
+        out.writeInt(problem.volunteerCount());
+        out.writeInt(problem.serviceCount());
+        out.writeInt(problem.penaltyServiceCount());
+        for (int capacity : problem.capacities()) {
+            out.writeInt(capacity);
+        }
+        for (int v = 0; v < problem.volunteerCount(); v++) {
+            int[] preferred = problem.preferredServices(v);
+            int[] ranks = problem.preferredRanks(v);
+            out.writeInt(preferred.length);
+            for (int i = 0; i < preferred.length; i++) {
+                out.writeInt(preferred[i]);
+                out.writeInt(ranks[i]);
+            }
+        }
+        out.writeBoolean(problem.hasDemand());
+        if (problem.hasDemand()) {
+            for (int s = 0; s < problem.serviceCount(); s++) {
+                out.writeInt(problem.demand(s));
+            }
+        }
+        out.writeInt(populationSize);
+    }
+
+    /** Body of an INIT message (after its type byte), rebuilt as a problem over synthetic volunteers and services. */
+    record Init(AssignmentProblem problem, int populationSize) {
+    }
+
+    static Init readInit(DataInputStream in) throws IOException {
+        int volunteerCount = readCount(in, MAX_VOLUNTEERS);
+        int serviceCount = readCount(in, MAX_SERVICES);
+        int penaltyServiceCount = readCount(in, MAX_SERVICES);
+        if (serviceCount == 0 || (long) volunteerCount * serviceCount > MAX_COST_TABLE_CELLS) {
+            throw new ProtocolException("Unsupported problem size " + volunteerCount + "x" + serviceCount);
+        }
+        List<ServiceDetails> services = new ArrayList<>(serviceCount);
+        for (int s = 0; s < serviceCount; s++) {
+            services.add(new ServiceDetails("s" + s, "s" + s, in.readInt()));
+        }
+        List<Volunteer> volunteers = new ArrayList<>(volunteerCount);
+        for (int v = 0; v < volunteerCount; v++) {
+            int preferredCount = readCount(in, Math.min(serviceCount, MAX_RANKED_SERVICES));
+            Map<Integer, String> ranks = new HashMap<>();
+            for (int i = 0; i < preferredCount; i++) {
+                int s = readGene(in, serviceCount);
+                ranks.put(in.readInt(), "s" + s);
+            }
+            volunteers.add(new Volunteer("v" + v, "v" + v, ranks));
+        }
+        Map<String, Integer> serviceDemand = null;
+        if (in.readBoolean()) {
+            serviceDemand = new HashMap<>();
+            for (int s = 0; s < serviceCount; s++) {
+                serviceDemand.put("s" + s, readCount(in, Integer.MAX_VALUE));
+            }
+        }
+        int populationSize = readCount(in, MAX_POPULATION);
+        if (populationSize < 2 || (long) populationSize * volunteerCount > MAX_POPULATION_GENES) {
+            throw new ProtocolException("Unsupported population size " + populationSize + " for " + volunteerCount + " volunteers");
+        }
+        return new Init(new AssignmentProblem(volunteers, services, penaltyServiceCount, serviceDemand), populationSize);
+    }
+
+    /**
+     * Body of an EPOCH message (after its type byte) for a worker evolving a population of populationSize.
+     * deadlineNanos is on the worker's clock.
+     */
+    record Epoch(int generations, int emigrantCount, long deadlineNanos, int[][] immigrants) {
+    }
+
+    static Epoch readEpoch(DataInputStream in, AssignmentProblem problem, int populationSize) throws IOException {
+        int generations = readCount(in, MAX_EPOCH_GENERATIONS);
+        int emigrantCount = readCount(in, populationSize);
+        long remainingNanos = in.readLong();
+        long deadlineNanos = remainingNanos == Long.MAX_VALUE ? GeneticAlgorithmService.NO_DEADLINE
+                : System.nanoTime() + Math.max(0, remainingNanos);
+        int[][] immigrants = readChromosomes(in, problem.volunteerCount(), problem.serviceCount(), populationSize);
+        return new Epoch(generations, emigrantCount, deadlineNanos, immigrants);
+    }
+
+    static void writeEpoch(DataOutputStream out, int generations, int emigrantCount, long deadlineNanos, int[][] immigrants) throws IOException {
+        out.writeByte(EPOCH);
+        out.writeInt(generations);
+        out.writeInt(emigrantCount);
+        out.writeLong(GeneticAlgorithmService.remainingNanos(deadlineNanos));
+        writeChromosomes(out, immigrants);
+    }
+
+    static void writeResult(DataOutputStream out, IslandHandle.EpochResult result) throws IOException {
+        out.writeByte(RESULT);
+        out.writeDouble(result.bestCost());
+        out.writeInt(result.generations());
+        writeChromosomes(out, result.emigrants());
+    }
+
+    /** Reads a RESULT body of at most emigrantCount chromosomes (as many as were asked for). */
+    static IslandHandle.EpochResult readResult(DataInputStream in, int volunteerCount, int serviceCount, int emigrantCount) throws IOException {
+        double bestCost = in.readDouble();
+        int generations = readCount(in, MAX_EPOCH_GENERATIONS);
+        return new IslandHandle.EpochResult(bestCost, readChromosomes(in, volunteerCount, serviceCount, emigrantCount), generations);
+    }
+
+    static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(message == null ? "" : message);
+    }
+
+    static void writeChromosomes(DataOutputStream out, int[][] chromosomes) throws IOException {
+        out.writeInt(chromosomes.length);
+        for (int[] genes : chromosomes) {
+            for (int gene : genes) {
+                out.writeInt(gene);
+            }
+        }
+    }
+
+    /** Reads at most maxCount chromosomes of volunteerCount genes, rejecting genes that are not valid service indices. */
+    static int[][] readChromosomes(DataInputStream in, int volunteerCount, int serviceCount, int maxCount) throws IOException {
+        int count = readCount(in, maxCount);
+        if (count > 0 && volunteerCount == 0) {
+            throw new ProtocolException("Chromosomes sent for an empty problem");
+        }
+        int[][] chromosomes = new int[count][volunteerCount];
+        for (int[] genes : chromosomes) {
+            for (int v = 0; v < volunteerCount; v++) {
+                genes[v] = readGene(in, serviceCount);
+            }
+        }
+        return chromosomes;
+    }
+
+    private static int readGene(DataInputStream in, int serviceCount) throws IOException {
+        int gene = in.readInt();
+        if (gene < 0 || gene >= serviceCount) {
+            throw new ProtocolException("Service index out of range: " + gene);
+        }
+        return gene;
+    }
+
+    private static int readCount(DataInputStream in, int max) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > max) {
+            throw new ProtocolException("Count out of range: " + count + " (at most " + max + ")");
+        }
+        return count;
+    }
+}
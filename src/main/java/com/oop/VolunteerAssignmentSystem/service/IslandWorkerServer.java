@@ -0,0 +1,188 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ProtocolException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hosts islands for other optimizer instances (see IslandModel and IslandProtocol).
+ * <p>
+ * Disabled unless ga.islands.worker.port is set. It then listens on ga.islands.worker.address only (loopback unless
+ * configured otherwise) and refuses to start without ga.islands.secret, which every client has to prove it knows
+ * before it may send a problem, within ga.islands.worker.handshake-timeout-ms of connecting. Every connection is
+ * one island, served on its own virtual thread and evolved with this instance's GA settings. The CPU-heavy parts (creating the island and its epochs) run
+ * through the OptimizationScheduler like local runs, all hosted islands together as one event, so other instances
+ * never get more than one event's share of this instance's optimizer threads. The same class is started in-process on an ephemeral
+ * localhost port by the tests, standing in for a worker machine.
+ */
+@Component
+public class IslandWorkerServer {
+    private static final Logger logger = LoggerFactory.getLogger(IslandWorkerServer.class);
+    static final String HOSTED_ISLANDS = "island-worker"; // Scheduler key of all hosted islands
+
+    private final GeneticAlgorithmService geneticAlgorithmService;
+    private final OptimizationScheduler scheduler;
+    private final int configuredPort;
+    private final String bindAddress;
+    private final String secret;
+    private final int handshakeTimeoutMillis;
+    private final Set<Socket> sessions = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket serverSocket;
+
+    public IslandWorkerServer(GeneticAlgorithmService geneticAlgorithmService,
+                              OptimizationScheduler scheduler,
+                              @Value("${ga.islands.worker.port:0}") int configuredPort,
+                              @Value("${ga.islands.worker.address:127.0.0.1}") String bindAddress,
+                              @Value("${ga.islands.secret:}") String secret,
+                              @Value("${ga.islands.worker.handshake-timeout-ms:5000}") int handshakeTimeoutMillis) {
+        this.geneticAlgorithmService = geneticAlgorithmService;
+        this.scheduler = scheduler;
+        this.configuredPort = configuredPort;
+        this.bindAddress = bindAddress;
+        this.secret = secret;
+        this.handshakeTimeoutMillis = handshakeTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void startIfConfigured() throws IOException {
+        if (configuredPort > 0) {
+            start(new ServerSocket(configuredPort, 50, InetAddress.getByName(bindAddress)));
+        }
+    }
+
+    /** Starts on an ephemeral localhost port and returns it. */
+    int startOnLocalhost() throws IOException {
+        start(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+        return serverSocket.getLocalPort();
+    }
+
+    private void start(ServerSocket socket) throws IOException {
+        if (secret == null || secret.isBlank()) {
+            socket.close();
+            throw new IllegalStateException("ga.islands.secret must be set to host islands for other instances");
+        }
+        this.serverSocket = socket;
+        Thread.ofPlatform().name("island-worker-accept").daemon().start(this::acceptLoop);
+        logger.info("Island worker listening on port {}", socket.getLocalPort());
+    }
+
+    private void acceptLoop() {
+        ServerSocket listener = serverSocket;
+        while (!listener.isClosed()) {
+            try {
+                Socket session = listener.accept();
+                sessions.add(session);
+                Thread.ofVirtual().name("island-worker-session").start(() -> serve(session));
+            } catch (IOException e) {
+                if (!listener.isClosed()) {
+                    logger.warn("Island worker failed to accept a connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket session) {
+        Island island = null;
+        try (session) {
+            session.setTcpNoDelay(true);
+            // An unauthenticated peer must not hold a session open by sending nothing
+            session.setSoTimeout(handshakeTimeoutMillis);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(session.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(session.getOutputStream()));
+            IslandProtocol.readHello(in);
+            byte[] challenge = IslandProtocol.writeChallenge(out);
+            out.flush();
+            if (!IslandProtocol.readProof(in, secret, challenge)) {
+                logger.warn("Island client {} failed to authenticate", session.getRemoteSocketAddress());
+                IslandProtocol.writeError(out, "Authentication failed");
+                out.flush();
+                return;
+            }
+            session.setSoTimeout(0); // The client may take its time between epochs, e.g. running its local islands
+            int populationSize = 0;
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    if (type == IslandProtocol.CLOSE) {
+                        return;
+                    } else if (type == IslandProtocol.INIT && island == null) {
+                        IslandProtocol.Init init = IslandProtocol.readInit(in);
+                        populationSize = init.populationSize();
+                        island = scheduler.submit(HOSTED_ISLANDS,
+                                () -> geneticAlgorithmService.createIsland(init.problem(), init.populationSize())).join();
+                        logger.info("Island worker evolving {} volunteers and {} services for {}",
+                                init.problem().volunteerCount(), init.problem().serviceCount(), session.getRemoteSocketAddress());
+                        out.writeByte(IslandProtocol.OK);
+                    } else if (type == IslandProtocol.EPOCH && island != null) {
+                        IslandProtocol.Epoch epoch = IslandProtocol.readEpoch(in, island.problem(), populationSize);
+                        Island hosted = island;
+                        IslandProtocol.writeResult(out, scheduler.submit(HOSTED_ISLANDS, () -> hosted.runEpoch(epoch.generations(),
+                                epoch.immigrants(), epoch.emigrantCount(), epoch.deadlineNanos())).join());
+                    } else {
+                        IslandProtocol.writeError(out, "Unexpected message " + type);
+                        out.flush();
+                        return;
+                    }
+                    out.flush();
+                }
+            } catch (ProtocolException e) {
+                logger.warn("Island client {} sent an invalid message: {}", session.getRemoteSocketAddress(), e.getMessage());
+                IslandProtocol.writeError(out, e.getMessage());
+                out.flush();
+            } catch (RuntimeException e) {
+                logger.error("Island worker session failed", e);
+                IslandProtocol.writeError(out, e.getMessage());
+                out.flush();
+            }
+        } catch (SocketTimeoutException e) {
+            logger.warn("Island client {} did not complete the handshake in time", session.getRemoteSocketAddress());
+        } catch (EOFException | SocketException e) {
+            logger.debug("Island client {} disconnected", session.getRemoteSocketAddress());
+        } catch (IOException e) {
+            logger.warn("Island worker session with {} failed: {}", session.getRemoteSocketAddress(), e.getMessage());
+        } finally {
+            sessions.remove(session);
+            if (island != null) {
+                island.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        ServerSocket listener = serverSocket;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close island worker socket: {}", e.getMessage());
+        }
+        for (Socket session : sessions) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+}
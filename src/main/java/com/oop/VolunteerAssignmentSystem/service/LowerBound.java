@@ -0,0 +1,130 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Lower bound on the total cost of any plan, used to report the optimality gap and to stop the GA early.
+ * <p>
+ * The bound relaxes the capacities with a Lagrangian multiplier per service. The capacity penalty is at least
+ * lambda_s * (assigned - capacity) for any lambda_s between 0 and CAPACITY_PENALTY, so for every such vector
+ * <pre>
+ * L(lambda) = sum over volunteers of min_s (geneCost(v, s) + lambda_s) - sum over services of lambda_s * capacity_s
+ * </pre>
+ * is a valid bound; lambda = 0 is the capacity-relaxed optimum (everyone at their cheapest service). Subgradient
+ * ascent then raises the prices of oversubscribed services. Each step is O(volunteers * Ns). Assignment with capacity
+ * penalties is a min-cost flow problem, so with good multipliers the bound approaches the true optimum.
+ */
+@Component
+public class LowerBound {
+    private final int iterations; // Subgradient steps; 0 = capacity-relaxed bound only
+    private final double stopGap; // Stop the GA once the gap is at most this; negative = never
+
+    public LowerBound(@Value("${ga.lower-bound.iterations:200}") int iterations,
+                      @Value("${ga.lower-bound.stop-gap:0}") double stopGap) {
+        this.iterations = iterations;
+        this.stopGap = stopGap;
+    }
+
+    /** Relative gap between a plan's cost and the bound: 0 means the plan is proven optimal. */
+    static double gap(double cost, double lowerBound) {
+        return cost <= 0 ? 0 : Math.max(0, (cost - lowerBound) / cost);
+    }
+
+    /** The gap as a percentage, for log lines. */
+    static String formatGap(double cost, double lowerBound) {
+        return String.format("%.2f%%", 100 * gap(cost, lowerBound));
+    }
+
+    /** Sets the bound and the gap of the result's total cost to it. */
+    static void report(AssignmentResult result, double lowerBound) {
+        result.setLowerBound(lowerBound);
+        result.setOptimalityGap(gap(result.getTotalCost(), lowerBound));
+    }
+
+    /** Cost at or below which the configured gap is reached, or negative infinity if the GA should never stop early. */
+    double targetCost(double lowerBound) {
+        if (stopGap < 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return stopGap >= 1 ? Double.POSITIVE_INFINITY : lowerBound / (1 - stopGap);
+    }
+
+    double compute(AssignmentProblem problem) {
+        int serviceCount = problem.serviceCount();
+        int volunteerCount = problem.volunteerCount();
+        double[] lambda = new double[serviceCount];
+        int[] assigned = new int[serviceCount];
+        double[] subgradient = new double[serviceCount];
+        double upperBound = firstChoiceCost(problem);
+        double best = Double.NEGATIVE_INFINITY;
+        double stepScale = 2; // Polyak step factor, halved whenever the bound stalls
+        int stalled = 0;
+
+        for (int iteration = 0; iteration <= iterations; iteration++) {
+            // Cheapest priced service per volunteer; a non-preferred one costs the same for everyone, so the lowest
+            // price stands for all of them (if that service is preferred it is priced lower anyway)
+            int cheapest = 0;
+            for (int s = 1; s < serviceCount; s++) {
+                if (lambda[s] < lambda[cheapest]) {
+                    cheapest = s;
+                }
+            }
+            Arrays.fill(assigned, 0);
+            double bound = 0;
+            for (int s = 0; s < serviceCount; s++) {
+                bound -= lambda[s] * problem.capacity(s);
+            }
+            for (int v = 0; v < volunteerCount; v++) {
+                double min = problem.nonPreferredCost() + lambda[cheapest];
+                int choice = cheapest;
+                for (int s : problem.preferredServices(v)) {
+                    double priced = problem.geneCost(v, s) + lambda[s];
+                    if (priced < min) {
+                        min = priced;
+                        choice = s;
+                    }
+                }
+                bound += min;
+                assigned[choice]++;
+            }
+
+            if (bound > best + 1e-9) {
+                best = bound;
+                stalled = 0;
+            } else if (++stalled >= 10) {
+                stepScale /= 2;
+                stalled = 0;
+            }
+            // Projected subgradient: components that would push a price past its limits do not count
+            double norm = 0;
+            for (int s = 0; s < serviceCount; s++) {
+                double g = assigned[s] - problem.capacity(s);
+                subgradient[s] = (g < 0 && lambda[s] <= 0) || (g > 0 && lambda[s] >= AssignmentProblem.CAPACITY_PENALTY) ? 0 : g;
+                norm += subgradient[s] * subgradient[s];
+            }
+            if (norm == 0 || upperBound - best < 1e-9) {
+                break; // No price needs to move, or the bound has met the first-choice plan
+            }
+            double step = stepScale * Math.max(upperBound - bound, 1) / norm;
+            for (int s = 0; s < serviceCount; s++) {
+                lambda[s] = Math.min(AssignmentProblem.CAPACITY_PENALTY, Math.max(0, lambda[s] + step * subgradient[s]));
+            }
+        }
+        // Every cost term is a whole number and none is negative, so the optimum is a whole number of at least 0
+        return Math.max(0, Math.ceil(best - 1e-6));
+    }
+
+    // Cost of giving everyone their first choice: a cheap upper bound to size the steps
+    private static double firstChoiceCost(AssignmentProblem problem) {
+        int[] genes = new int[problem.volunteerCount()];
+        for (int v = 0; v < genes.length; v++) {
+            int[] preferred = problem.preferredServices(v);
+            genes[v] = preferred.length > 0 ? preferred[0] : 0;
+        }
+        return problem.totalCost(genes);
+    }
+}
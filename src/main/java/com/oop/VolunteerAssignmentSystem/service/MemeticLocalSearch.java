@@ -0,0 +1,174 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Local search that polishes GA chromosomes to a local optimum.
+ * <p>
+ * Two neighbourhoods are explored with first-improvement: moving one volunteer to another service, and swapping the
+ * services of two volunteers (which keeps occupancy unchanged). Every move is priced from the volunteers' short
+ * preference lists and maintained occupancy counters, and swap partners are only looked for among the volunteers
+ * currently sitting in a service the first volunteer prefers over their own.
+ */
+@Component
+public class MemeticLocalSearch {
+    private final boolean enabled;
+    private final long timeLimitMillis;
+    private final int eliteInterval; // Also polish elites every k generations; 0 = only the final best
+    private final int eliteCount;
+
+    public MemeticLocalSearch(@Value("${ga.local-search.enabled:false}") boolean enabled,
+                              @Value("${ga.local-search.time-limit-ms:200}") long timeLimitMillis,
+                              @Value("${ga.local-search.elite-interval:0}") int eliteInterval,
+                              @Value("${ga.local-search.elite-count:2}") int eliteCount) {
+        this.enabled = enabled;
+        this.timeLimitMillis = timeLimitMillis;
+        this.eliteInterval = eliteInterval;
+        this.eliteCount = eliteCount;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isEliteGeneration(int generation) {
+        return enabled && eliteInterval > 0 && generation > 0 && generation % eliteInterval == 0;
+    }
+
+    int eliteCount() {
+        return eliteCount;
+    }
+
+    long finalTimeLimitNanos() {
+        return timeLimitMillis * 1_000_000;
+    }
+
+    // In-run polishing gets a tenth of the final budget per elite, so it cannot dominate generation time
+    long eliteTimeLimitNanos() {
+        return finalTimeLimitNanos() / 10;
+    }
+
+    /**
+     * Improves genes in place until no improving move is left or the time limit is reached.
+     *
+     * @return the total cost of the improved plan
+     */
+    double improve(AssignmentProblem problem, int[] genes, long timeLimitNanos) {
+        return new Search(problem, genes).run(System.nanoTime() + timeLimitNanos);
+    }
+
+    private static final class Search {
+        private final AssignmentProblem problem;
+        private final int[] genes;
+        private final int[] serviceCounts;
+        // Volunteers in each service, and each volunteer's position in its service's list
+        private final int[][] members;
+        private final int[] memberCounts;
+        private final int[] positions;
+
+        Search(AssignmentProblem problem, int[] genes) {
+            this.problem = problem;
+            this.genes = genes;
+            int serviceCount = problem.serviceCount();
+            this.serviceCounts = new int[serviceCount];
+            for (int gene : genes) {
+                serviceCounts[gene]++;
+            }
+            this.members = new int[serviceCount][];
+            this.memberCounts = new int[serviceCount];
+            for (int s = 0; s < serviceCount; s++) {
+                members[s] = new int[Math.max(4, serviceCounts[s])];
+            }
+            this.positions = new int[genes.length];
+            for (int v = 0; v < genes.length; v++) {
+                addMember(genes[v], v);
+            }
+        }
+
+        double run(long deadline) {
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = false;
+                for (int v = 0; v < genes.length; v++) {
+                    if (tryMove(v) || trySwap(v)) {
+                        improved = true;
+                    }
+                    if ((v & 255) == 0 && System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+            }
+            return problem.totalCost(genes);
+        }
+
+        private boolean tryMove(int v) {
+            int current = genes[v];
+            double leaveDelta = -problem.geneCost(v, current)
+                    - (serviceCounts[current] > problem.capacity(current) ? AssignmentProblem.CAPACITY_PENALTY : 0);
+            int bestTarget = -1;
+            double bestDelta = -1e-9;
+            for (int s = 0; s < serviceCounts.length; s++) {
+                if (s == current) {
+                    continue;
+                }
+                double delta = leaveDelta + problem.geneCost(v, s)
+                        + (serviceCounts[s] >= problem.capacity(s) ? AssignmentProblem.CAPACITY_PENALTY : 0);
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestTarget = s;
+                }
+            }
+            if (bestTarget < 0) {
+                return false;
+            }
+            removeMember(current, v);
+            addMember(bestTarget, v);
+            serviceCounts[current]--;
+            serviceCounts[bestTarget]++;
+            genes[v] = bestTarget;
+            return true;
+        }
+
+        private boolean trySwap(int v) {
+            int current = genes[v];
+            double currentCost = problem.geneCost(v, current);
+            for (int s : problem.preferredServices(v)) {
+                if (s == current || problem.geneCost(v, s) >= currentCost) {
+                    continue;
+                }
+                for (int i = 0; i < memberCounts[s]; i++) {
+                    int other = members[s][i];
+                    double delta = problem.geneCost(v, s) + problem.geneCost(other, current)
+                            - currentCost - problem.geneCost(other, s);
+                    if (delta < -1e-9) {
+                        removeMember(current, v);
+                        removeMember(s, other);
+                        addMember(s, v);
+                        addMember(current, other);
+                        genes[v] = s;
+                        genes[other] = current;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void addMember(int s, int v) {
+            if (memberCounts[s] == members[s].length) {
+                members[s] = Arrays.copyOf(members[s], members[s].length * 2);
+            }
+            positions[v] = memberCounts[s];
+            members[s][memberCounts[s]++] = v;
+        }
+
+        private void removeMember(int s, int v) {
+            int last = members[s][--memberCounts[s]];
+            members[s][positions[v]] = last;
+            positions[last] = positions[v];
+        }
+    }
+}
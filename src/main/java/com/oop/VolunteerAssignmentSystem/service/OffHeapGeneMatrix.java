@@ -0,0 +1,117 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Population storage in native (direct) memory, row-major, so large populations do not count against the heap.
+ * Buffers are handed back to a bounded shared pool on close(), so the next run reuses them instead of allocating
+ * (and zeroing) new native memory. A buffer the pool has no room for is dropped and its memory is released when the
+ * garbage collector reclaims it, which is the only supported way to free a direct buffer without preview APIs.
+ */
+final class OffHeapGeneMatrix implements GeneMatrix {
+    // Upper bound on native memory kept around for reuse after runs finish
+    private static final long MAX_POOLED_BYTES = 256L * 1024 * 1024;
+    // A pooled buffer is only reused for a matrix needing at least 1/MAX_OVERSIZE of it, so a small matrix
+    // does not hold on to a much larger buffer
+    private static final int MAX_OVERSIZE = 2;
+    private static final List<ByteBuffer> pool = new ArrayList<>();
+    private static long pooledBytes = 0;
+
+    private final int rows;
+    private final int columns;
+    private ByteBuffer storage;
+    private IntBuffer genes;
+
+    OffHeapGeneMatrix(int rows, int columns) {
+        long bytes = (long) rows * columns * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Population of " + rows + " x " + columns + " genes is too large for off-heap storage.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.storage = acquire((int) bytes);
+        // Pooled buffers may be larger than needed; only view the first rows * columns ints
+        this.genes = storage.duplicate().order(ByteOrder.nativeOrder()).limit((int) bytes).asIntBuffer();
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public int get(int row, int column) {
+        return genes.get(row * columns + column);
+    }
+
+    @Override
+    public void set(int row, int column, int gene) {
+        genes.put(row * columns + column, gene);
+    }
+
+    @Override
+    public void copyRow(int row, GeneMatrix target, int targetRow) {
+        if (target instanceof OffHeapGeneMatrix offHeapTarget) {
+            offHeapTarget.genes.put(targetRow * columns, genes, row * columns, columns);
+            return;
+        }
+        for (int c = 0; c < columns; c++) {
+            target.set(targetRow, c, genes.get(row * columns + c));
+        }
+    }
+
+    @Override
+    public void readRow(int row, int[] target) {
+        genes.get(row * columns, target, 0, columns);
+    }
+
+    @Override
+    public void writeRow(int row, int[] source) {
+        genes.put(row * columns, source, 0, columns);
+    }
+
+    @Override
+    public void close() {
+        if (storage != null) {
+            release(storage);
+            storage = null;
+            genes = null;
+        }
+    }
+
+    private static synchronized ByteBuffer acquire(int bytes) {
+        // Best fit among pooled buffers, otherwise a fresh allocation
+        ByteBuffer best = null;
+        for (ByteBuffer candidate : pool) {
+            if (candidate.capacity() >= bytes && candidate.capacity() / MAX_OVERSIZE <= bytes && (best == null || candidate.capacity() < best.capacity())) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+        pool.remove(best);
+        pooledBytes -= best.capacity();
+        return best;
+    }
+
+    private static synchronized void release(ByteBuffer buffer) {
+        if (pooledBytes + buffer.capacity() <= MAX_POOLED_BYTES) {
+            pool.add(buffer);
+            pooledBytes += buffer.capacity();
+        } // Otherwise dropped: freed once the garbage collector reclaims it
+    }
+
+    static synchronized long pooledBytes() {
+        return pooledBytes;
+    }
+}
@@ -0,0 +1,115 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared pool of optimizer threads, one per core by default, divided fairly between events.
+ * <p>
+ * Every event has its own FIFO queue of GA runs. Free workers take the next task from the events in round-robin
+ * order, so an event that queued many runs (e.g. a decomposed problem) does not delay another event's single run.
+ * An event may also hold at most maxPerEvent workers at a time, which by default keeps one core free for others:
+ * runs are not preemptible, so a huge event must never be able to occupy every worker.
+ */
+@Component
+public class OptimizationScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(OptimizationScheduler.class);
+
+    private final int workers;
+    private final int maxPerEvent;
+    private final ExecutorService executor;
+
+    // Guarded by this
+    private final Map<String, Deque<Runnable>> queues = new HashMap<>();
+    private final Map<String, Integer> runningPerEvent = new HashMap<>();
+    private final Deque<String> readyEvents = new ArrayDeque<>(); // Round-robin order of events with queued work
+    private int running;
+
+    public OptimizationScheduler(@Value("${optimization.scheduler.threads:0}") int threads,
+                                 @Value("${optimization.scheduler.max-per-event:0}") int maxPerEvent) {
+        this.workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxPerEvent = maxPerEvent > 0 ? Math.min(maxPerEvent, workers) : Math.max(1, workers - 1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "optimizer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Optimization scheduler started with {} workers, at most {} per event.", workers, this.maxPerEvent);
+    }
+
+    /** Queues a CPU-heavy task for an event; the future completes with its result. */
+    public <T> CompletableFuture<T> submit(String eventId, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+        synchronized (this) {
+            queues.computeIfAbsent(eventId, key -> new ArrayDeque<>()).add(runnable);
+            if (!readyEvents.contains(eventId)) {
+                readyEvents.add(eventId);
+            }
+            dispatch();
+        }
+        return future;
+    }
+
+    private synchronized void dispatch() {
+        // Visit each ready event at most once per round so a capped event does not spin the loop
+        int eventsToVisit = readyEvents.size();
+        while (running < workers && eventsToVisit-- > 0) {
+            String eventId = readyEvents.poll();
+            Deque<Runnable> queue = queues.get(eventId);
+            if (runningPerEvent.getOrDefault(eventId, 0) >= maxPerEvent) {
+                readyEvents.add(eventId); // Wait for one of its own runs to finish
+                continue;
+            }
+            Runnable task = queue.poll();
+            if (queue.isEmpty()) {
+                queues.remove(eventId);
+            } else {
+                readyEvents.add(eventId);
+            }
+            running++;
+            runningPerEvent.merge(eventId, 1, Integer::sum);
+            eventsToVisit = readyEvents.size();
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    finished(eventId);
+                }
+            });
+        }
+    }
+
+    private synchronized void finished(String eventId) {
+        running--;
+        if (runningPerEvent.merge(eventId, -1, Integer::sum) == 0) {
+            runningPerEvent.remove(eventId);
+        }
+        dispatch();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
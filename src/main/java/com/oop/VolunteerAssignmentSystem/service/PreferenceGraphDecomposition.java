@@ -0,0 +1,173 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Splits an assignment problem into parts that can be optimized independently, and puts the partial plans back together.
+ * <p>
+ * Parts are either the connected components of the volunteer-service preference graph, or groups of services sharing
+ * an explicit partition key. Volunteers without any known preference cost 10 * Nd^2 wherever they go, so they are kept
+ * out of the parts and placed into spare capacity when merging.
+ */
+final class PreferenceGraphDecomposition {
+
+    record Part(Map<String, Volunteer> volunteers, List<ServiceDetails> services) {
+    }
+
+    private final List<Part> parts;
+    private final List<Volunteer> unconstrainedVolunteers;
+
+    private PreferenceGraphDecomposition(List<Part> parts, List<Volunteer> unconstrainedVolunteers) {
+        this.parts = parts;
+        this.unconstrainedVolunteers = unconstrainedVolunteers;
+    }
+
+    List<Part> parts() {
+        return parts;
+    }
+
+    List<Volunteer> unconstrainedVolunteers() {
+        return unconstrainedVolunteers;
+    }
+
+    /** One part per connected component of the preference graph that contains at least one volunteer. */
+    static PreferenceGraphDecomposition byConnectedComponents(Map<String, Volunteer> volunteers, List<ServiceDetails> services) {
+        Map<String, Integer> serviceIndex = indexServices(services);
+        // Union-find over services only: a volunteer joins all the services they prefer
+        int[] parent = new int[services.size()];
+        for (int s = 0; s < parent.length; s++) {
+            parent[s] = s;
+        }
+        for (Volunteer volunteer : volunteers.values()) {
+            List<Integer> preferred = knownPreferences(volunteer, serviceIndex);
+            for (int i = 1; i < preferred.size(); i++) {
+                parent[find(parent, preferred.get(i))] = find(parent, preferred.get(0));
+            }
+        }
+        return group(volunteers, services, serviceIndex, s -> String.valueOf(find(parent, s)));
+    }
+
+    /**
+     * One part per distinct partition key of the services. A volunteer goes to the part of their best ranked service;
+     * preferences that point into other parts are ignored while solving but still priced when merging.
+     */
+    static PreferenceGraphDecomposition byServiceKey(Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                                                     Function<ServiceDetails, String> partitionKey) {
+        Map<String, Integer> serviceIndex = indexServices(services);
+        return group(volunteers, services, serviceIndex, s -> String.valueOf(partitionKey.apply(services.get(s))));
+    }
+
+    private static PreferenceGraphDecomposition group(Map<String, Volunteer> volunteers, List<ServiceDetails> services,
+                                                      Map<String, Integer> serviceIndex, Function<Integer, String> keyOfService) {
+        Map<String, Part> partsByKey = new LinkedHashMap<>();
+        for (int s = 0; s < services.size(); s++) {
+            partsByKey.computeIfAbsent(keyOfService.apply(s), key -> new Part(new HashMap<>(), new ArrayList<>()))
+                    .services().add(services.get(s));
+        }
+        List<Volunteer> unconstrained = new ArrayList<>();
+        for (Volunteer volunteer : volunteers.values()) {
+            List<Integer> preferred = knownPreferences(volunteer, serviceIndex);
+            if (preferred.isEmpty()) {
+                unconstrained.add(volunteer);
+            } else {
+                partsByKey.get(keyOfService.apply(preferred.get(0))).volunteers().put(volunteer.getId(), volunteer);
+            }
+        }
+        // Services nobody prefers stay out of the parts; they are still available when merging
+        List<Part> parts = partsByKey.values().stream().filter(part -> !part.volunteers().isEmpty()).toList();
+        return new PreferenceGraphDecomposition(parts, unconstrained);
+    }
+
+    /**
+     * Completes a merged plan of the whole problem: places volunteers still at -1 (the unconstrained ones) into spare
+     * capacity, then moves volunteers out of overfull services wherever that lowers the total cost. The second step
+     * recovers cross-part moves that the independent parts could not see, e.g. a non-preferred service elsewhere
+     * being cheaper than the capacity penalty.
+     */
+    static void completePlan(AssignmentProblem problem, int[] genes) {
+        int serviceCount = problem.serviceCount();
+        int[] serviceCounts = new int[serviceCount];
+        for (int gene : genes) {
+            if (gene >= 0) {
+                serviceCounts[gene]++;
+            }
+        }
+
+        for (int v = 0; v < genes.length; v++) {
+            if (genes[v] < 0) {
+                // Every service costs the same for an unconstrained volunteer, so only spare capacity matters
+                int target = 0;
+                for (int s = 1; s < serviceCount; s++) {
+                    if (problem.capacity(s) - serviceCounts[s] > problem.capacity(target) - serviceCounts[target]) {
+                        target = s;
+                    }
+                }
+                genes[v] = target;
+                serviceCounts[target]++;
+            }
+        }
+
+        for (int v = 0; v < genes.length; v++) {
+            int current = genes[v];
+            if (serviceCounts[current] <= problem.capacity(current)) {
+                continue;
+            }
+            int bestTarget = -1;
+            double bestDelta = 0;
+            for (int s = 0; s < serviceCount; s++) {
+                if (s != current && serviceCounts[s] < problem.capacity(s)) {
+                    // Leaving removes one unit of overflow at the current service
+                    double delta = problem.geneCost(v, s) - problem.geneCost(v, current) - AssignmentProblem.CAPACITY_PENALTY;
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestTarget = s;
+                    }
+                }
+            }
+            if (bestTarget >= 0) {
+                genes[v] = bestTarget;
+                serviceCounts[current]--;
+                serviceCounts[bestTarget]++;
+            }
+        }
+    }
+
+    private static Map<String, Integer> indexServices(List<ServiceDetails> services) {
+        Map<String, Integer> serviceIndex = new HashMap<>();
+        for (int s = 0; s < services.size(); s++) {
+            serviceIndex.put(services.get(s).getId(), s);
+        }
+        return serviceIndex;
+    }
+
+    /** Indices of the volunteer's preferred services that exist in the catalog, best rank first. */
+    private static List<Integer> knownPreferences(Volunteer volunteer, Map<String, Integer> serviceIndex) {
+        List<Integer> preferred = new ArrayList<>();
+        if (volunteer.getPreferredServicesRanks() != null) {
+            for (String serviceId : new TreeMap<>(volunteer.getPreferredServicesRanks()).values()) {
+                Integer s = serviceIndex.get(serviceId);
+                if (s != null) {
+                    preferred.add(s);
+                }
+            }
+        }
+        return preferred;
+    }
+
+    private static int find(int[] parent, int s) {
+        while (parent[s] != s) {
+            parent[s] = parent[parent[s]];
+            s = parent[s];
+        }
+        return s;
+    }
+}
@@ -1,35 +1,80 @@
 package com.oop.VolunteerAssignmentSystem.service;
 
 import com.oop.VolunteerAssignmentSystem.model.Preference;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDemand;
 import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
-import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
-import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.ServiceDemandIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class PreferenceService {
     private static final Logger logger = LoggerFactory.getLogger(PreferenceService.class);
-    private final InMemoryPreferenceRepository preferenceRepository;
-    private final InMemoryServiceRepository serviceRepository;
+    private final EventRepositoryRegistry eventRepositories;
+    private final SubmissionLogSummary submissionLog; // Periodic summary instead of INFO lines per submission
+    private final PreferenceWriteBatcher writeBatcher; // Single writer that applies submissions in batches
 
-    public PreferenceService(InMemoryPreferenceRepository preferenceRepository, InMemoryServiceRepository serviceRepository) {
-        this.preferenceRepository = preferenceRepository;
-        this.serviceRepository = serviceRepository;
+    public PreferenceService(EventRepositoryRegistry eventRepositories, SubmissionLogSummary submissionLog,
+                             PreferenceWriteBatcher writeBatcher) {
+        this.eventRepositories = eventRepositories;
+        this.submissionLog = submissionLog;
+        this.writeBatcher = writeBatcher;
     }
 
     public void submitPreferences(String volunteerId, Preference preferenceDTO) {
-        logger.info("Processing preference submission for volunteer: {}", volunteerId);
+        submitPreferences(EventRepositoryRegistry.DEFAULT_EVENT, volunteerId, preferenceDTO);
+    }
+
+    public void submitPreferences(String eventId, String volunteerId, Preference preferenceDTO) {
+        try {
+            submitPreferencesAsync(eventId, volunteerId, preferenceDTO).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Validates on the caller's thread, then hands the submission to the write batcher.
+     * Invalid submissions throw IllegalArgumentException right away; the future completes once the submission is stored.
+     */
+    public CompletableFuture<Void> submitPreferencesAsync(String eventId, String volunteerId, Preference preferenceDTO) {
+        logger.debug("Processing preference submission for volunteer: {} (event {})", volunteerId, eventId);
+        EventRepositories repositories;
+        try {
+            repositories = validate(eventId, volunteerId, preferenceDTO);
+        } catch (IllegalArgumentException e) {
+            submissionLog.rejected();
+            throw e;
+        }
+        return writeBatcher.submit(repositories, volunteerId, preferenceDTO).thenRun(() -> {
+            submissionLog.accepted();
+            logger.debug("Successfully submitted preferences for volunteer: {}", volunteerId);
+        });
+    }
+
+    private EventRepositories validate(String eventId, String volunteerId, Preference preferenceDTO) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
         // Basic validation (can be expanded)
         if (volunteerId == null || volunteerId.trim().isEmpty()) {
             throw new IllegalArgumentException("Volunteer ID cannot be empty.");
         }
+        if (volunteerId.chars().anyMatch(Character::isISOControl)) { // Also keeps the journal line-oriented
+            throw new IllegalArgumentException("Volunteer ID cannot contain control characters.");
+        }
         if (preferenceDTO.getRankedServiceIds() == null || preferenceDTO.getRankedServiceIds().isEmpty()) {
             throw new IllegalArgumentException("Preferences (rankedServiceIds) cannot be empty for volunteer " + volunteerId);
         }
@@ -37,25 +82,54 @@ public class PreferenceService {
             throw new IllegalArgumentException("Volunteer " + volunteerId + " cannot prefer more than 5 services.");
         }
         for (String serviceId : preferenceDTO.getRankedServiceIds()) {
-            if (!serviceRepository.findById(serviceId).isPresent()) {
+            if (!repositories.serviceRepository().findById(serviceId).isPresent()) {
                 throw new IllegalArgumentException("Service ID " + serviceId + " (preferred by " + volunteerId + ") does not exist.");
             }
         }
-
-        // Call the repository's save method, which handles the actual storage
-        preferenceRepository.save(volunteerId, preferenceDTO);
-        logger.info("Successfully submitted preferences for volunteer: {}", volunteerId);
+        return repositories;
     }
 
     public Map<String, Volunteer> getAllVolunteersWithPreferences() {
-        return preferenceRepository.findAllVolunteersWithPreferences();
+        return getAllVolunteersWithPreferences(EventRepositoryRegistry.DEFAULT_EVENT);
+    }
+
+    public Map<String, Volunteer> getAllVolunteersWithPreferences(String eventId) {
+        return eventRepositories.forEvent(eventId).preferenceRepository().findAllVolunteersWithPreferences();
     }
 
     public Collection<ServiceDetails> getAllServices() {
-        return serviceRepository.findAll();
+        return getAllServices(EventRepositoryRegistry.DEFAULT_EVENT);
+    }
+
+    public Collection<ServiceDetails> getAllServices(String eventId) {
+        return eventRepositories.forEvent(eventId).serviceRepository().findAll();
+    }
+
+    /**
+     * Demand for every service of the event compared with its capacity, read from the repository's demand index.
+     * Most contested first: by first choices above capacity, then by volunteers ranking the service at all.
+     */
+    public List<ServiceDemand> getServiceDemand(String eventId) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        ServiceDemandIndex demandIndex = repositories.preferenceRepository().getDemandIndex();
+        return repositories.serviceRepository().findAll().stream()
+                .map(service -> {
+                    ServiceDemandIndex.Demand demand = demandIndex.demand(service.getId());
+                    return new ServiceDemand(service.getId(), service.getName(), service.getMaxVolunteers(),
+                            demand.volunteers(), demand.volunteersByRank(), demand.atRank(1) > service.getMaxVolunteers());
+                })
+                .sorted(Comparator.comparingInt((ServiceDemand d) -> d.getVolunteersByRank().getOrDefault(1, 0) - d.getMaxVolunteers())
+                        .thenComparingInt(ServiceDemand::getVolunteers)
+                        .reversed()
+                        .thenComparing(ServiceDemand::getServiceId))
+                .toList();
     }
 
     public Optional<Volunteer> getPreferencesForVolunteer(String volunteerId) {
-        return preferenceRepository.findById(volunteerId);
+        return getPreferencesForVolunteer(EventRepositoryRegistry.DEFAULT_EVENT, volunteerId);
+    }
+
+    public Optional<Volunteer> getPreferencesForVolunteer(String eventId, String volunteerId) {
+        return eventRepositories.forEvent(eventId).preferenceRepository().findById(volunteerId);
     }
 }
@@ -0,0 +1,313 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.Preference;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Single writer for preference submissions.
+ * <p>
+ * Callers enqueue validated submissions and get a future. One writer thread takes everything queued at that moment
+ * (up to maxBatchSize), applies it with one saveAll per event, appends it to the journal with a single write and
+ * fsync (group commit), and only then completes the futures. Under contention requests no longer fight over the
+ * repository one by one: the more that queue up, the larger and cheaper per submission the batches become.
+ * <p>
+ * The journal (off unless preferences.journal.path is set) is a text file of "eventId TAB volunteerId TAB ranked,ids"
+ * lines, replayed on startup. Only the latest line of each volunteer matters, so once the file has doubled since it
+ * was last compacted (and is at least compact-min-bytes), it is rewritten with just those lines and swapped in
+ * atomically. With batching disabled, submissions are saved on the caller's thread as before.
+ * <p>
+ * With a journal, the journal is authoritative: a submission counts as accepted once it is in the journal. Should
+ * applying it to the repository then fail, the error is logged and the submission is still acknowledged, since replay
+ * applies it on the next start anyway; only a failed journal write fails the futures.
+ */
+@Component
+public class PreferenceWriteBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(PreferenceWriteBatcher.class);
+
+    private record PendingWrite(EventRepositories repositories, String volunteerId, List<String> rankedServiceIds,
+                                CompletableFuture<Void> applied) {
+    }
+
+    // Queued by shutdown behind everything already accepted; the writer stops when it reaches it
+    private static final PendingWrite STOP = new PendingWrite(null, null, List.of(), null);
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final boolean fsync;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Path journalPath; // null without persistence
+    private final long compactMinBytes;
+    private FileChannel journal; // Guarded by this; replaced when the journal is compacted
+    private long compactAtBytes; // Guarded by this
+    private final Thread writer;
+    private boolean stopped; // Guarded by queue, so nothing is queued behind STOP
+
+    public PreferenceWriteBatcher(EventRepositoryRegistry eventRepositories,
+                                  @Value("${preferences.batch.enabled:true}") boolean enabled,
+                                  @Value("${preferences.batch.max-size:1024}") int maxBatchSize,
+                                  @Value("${preferences.journal.path:}") String journalPath,
+                                  @Value("${preferences.journal.fsync:true}") boolean fsync,
+                                  @Value("${preferences.journal.compact-min-bytes:1048576}") long compactMinBytes) throws IOException {
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.fsync = fsync;
+        this.compactMinBytes = Math.max(1, compactMinBytes);
+        if (journalPath == null || journalPath.isBlank()) {
+            this.journalPath = null;
+        } else {
+            this.journalPath = Path.of(journalPath);
+            replay(this.journalPath, eventRepositories);
+            this.journal = openJournal(this.journalPath);
+            this.compactAtBytes = Math.max(this.compactMinBytes, 2 * journal.size());
+        }
+        if (enabled) {
+            this.writer = new Thread(this::writeLoop, "preference-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Completes once the submission is in the repository, or once it is in the journal if there is one (see above).
+     * Fails if the writer is shut down.
+     */
+    public CompletableFuture<Void> submit(EventRepositories repositories, String volunteerId, Preference preference) {
+        List<String> rankedServiceIds = List.copyOf(preference.getRankedServiceIds());
+        synchronized (queue) {
+            if (stopped) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Preference writer is shut down"));
+            }
+            if (enabled) {
+                CompletableFuture<Void> applied = new CompletableFuture<>();
+                queue.add(new PendingWrite(repositories, volunteerId, rankedServiceIds, applied));
+                return applied;
+            }
+        }
+        if (journalPath != null) {
+            try {
+                journal(List.of(new PendingWrite(repositories, volunteerId, rankedServiceIds, null)));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            repositories.preferenceRepository().save(volunteerId, preference);
+        } catch (RuntimeException e) {
+            if (journalPath == null) {
+                return CompletableFuture.failedFuture(e);
+            }
+            logger.error("Journaled the preferences of volunteer {} but failed to apply them; they are applied on restart",
+                    volunteerId, e); // Accepted all the same, as in apply
+        }
+        if (journalPath != null) {
+            compactJournalIfDue();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failQueued(new IllegalStateException("Preference writer was interrupted"));
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            stopping = batch.remove(STOP); // Everything accepted before shutdown is ahead of it in this batch
+            if (!batch.isEmpty()) {
+                apply(batch);
+                if (journalPath != null) {
+                    compactJournalIfDue();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    // Fails whatever the writer will no longer take, so no caller waits forever
+    private void failQueued(Throwable cause) {
+        List<PendingWrite> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.remove(STOP);
+        if (!left.isEmpty()) {
+            logger.warn("Preference writer stopped; {} queued submissions are not applied", left.size());
+            left.forEach(write -> write.applied().completeExceptionally(cause));
+        }
+    }
+
+    private void apply(List<PendingWrite> batch) {
+        if (journalPath != null) {
+            try {
+                journal(batch); // Write-ahead: nothing is visible before it is durable
+            } catch (Throwable t) {
+                logger.error("Failed to journal a batch of {} preference submissions", batch.size(), t);
+                batch.forEach(write -> write.applied().completeExceptionally(t));
+                return;
+            }
+        }
+        try {
+            // One saveAll per event; a volunteer submitting twice in a batch keeps the later submission
+            Map<EventRepositories, Map<String, List<String>>> byEvent = new LinkedHashMap<>();
+            for (PendingWrite write : batch) {
+                byEvent.computeIfAbsent(write.repositories(), key -> new LinkedHashMap<>())
+                        .put(write.volunteerId(), write.rankedServiceIds());
+            }
+            byEvent.forEach((repositories, submissions) -> repositories.preferenceRepository().saveAll(submissions));
+            logger.debug("Applied a batch of {} preference submissions", batch.size());
+        } catch (Throwable t) {
+            if (journalPath == null) {
+                logger.error("Failed to apply a batch of {} preference submissions", batch.size(), t);
+                batch.forEach(write -> write.applied().completeExceptionally(t));
+                return;
+            }
+            // Already journaled, hence accepted: replay applies it on the next start
+            logger.error("Journaled a batch of {} preference submissions but failed to apply it; it is applied on restart",
+                    batch.size(), t);
+        }
+        batch.forEach(write -> write.applied().complete(null));
+    }
+
+    private synchronized void journal(List<PendingWrite> batch) {
+        StringBuilder lines = new StringBuilder();
+        for (PendingWrite write : batch) {
+            lines.append(write.repositories().eventId()).append('\t')
+                    .append(write.volunteerId()).append('\t')
+                    .append(String.join(",", write.rankedServiceIds())).append('\n');
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                journal.write(bytes);
+            }
+            if (fsync) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the preference journal", e);
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the latest submission of each volunteer once it has doubled since the last
+     * compaction. The compacted copy is made durable before it replaces the journal, so a crash leaves one or the other.
+     */
+    private synchronized void compactJournalIfDue() {
+        try {
+            long size = journal.size();
+            if (size < compactAtBytes) {
+                return;
+            }
+            Map<String, Map<String, List<String>>> latest = read(journalPath);
+            StringBuilder lines = new StringBuilder();
+            latest.forEach((eventId, submissions) -> submissions.forEach((volunteerId, rankedServiceIds) ->
+                    lines.append(eventId).append('\t').append(volunteerId).append('\t')
+                            .append(String.join(",", rankedServiceIds)).append('\n')));
+            Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+            try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            }
+            Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal.close();
+            journal = openJournal(journalPath);
+            compactAtBytes = Math.max(compactMinBytes, 2 * journal.size());
+            logger.info("Compacted the preference journal from {} to {} bytes", size, journal.size());
+        } catch (IOException e) {
+            // The journal is still complete, just longer than needed; try again once it has grown further
+            compactAtBytes *= 2;
+            logger.warn("Failed to compact the preference journal {}", journalPath, e);
+        }
+    }
+
+    private static FileChannel openJournal(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** The latest submission of each volunteer in the journal, by event. */
+    private static Map<String, Map<String, List<String>>> read(Path path) throws IOException {
+        Map<String, Map<String, List<String>>> byEvent = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 3) {
+                    logger.warn("Skipping malformed preference journal line: {}", line); // e.g. torn last write
+                    continue;
+                }
+                byEvent.computeIfAbsent(fields[0], key -> new LinkedHashMap<>())
+                        .put(fields[1], fields[2].isEmpty() ? List.of() : Arrays.asList(fields[2].split(",")));
+            }
+        }
+        return byEvent;
+    }
+
+    private static void replay(Path path, EventRepositoryRegistry eventRepositories) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Map<String, Map<String, List<String>>> byEvent = read(path);
+        byEvent.forEach((eventId, submissions) -> {
+            eventRepositories.createEvent(eventId); // Events are not persisted, only their submissions
+            eventRepositories.forEvent(eventId).preferenceRepository().saveAll(submissions);
+        });
+        logger.info("Replayed {} volunteers' preference submissions for {} events from {}",
+                byEvent.values().stream().mapToInt(Map::size).sum(), byEvent.size(), path);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        synchronized (queue) {
+            stopped = true;
+            if (writer != null) {
+                // A poison pill rather than an interrupt: interrupting a FileChannel write closes the channel mid-batch
+                queue.add(STOP);
+            }
+        }
+        if (writer != null) {
+            writer.join(5_000);
+            if (writer.isAlive()) {
+                logger.warn("Preference writer did not finish within 5 s of shutdown");
+            }
+        }
+        if (journalPath != null) {
+            synchronized (this) { // Waits for a journal write still in progress
+                journal.close();
+            }
+        }
+    }
+}
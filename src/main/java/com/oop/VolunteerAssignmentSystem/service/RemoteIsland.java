@@ -0,0 +1,77 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Client side of an island evolved by a worker process (see IslandProtocol).
+ * Every call blocks until the worker answers; a worker that is gone or slower than the timeout fails with IOException.
+ */
+final class RemoteIsland implements IslandHandle {
+    private final InetSocketAddress address;
+    private final AssignmentProblem problem;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    RemoteIsland(InetSocketAddress address, AssignmentProblem problem, int populationSize, String secret,
+                 int timeoutMillis) throws IOException {
+        this.address = address;
+        this.problem = problem;
+        this.socket = new Socket();
+        try {
+            // Resolve on every connect so a restarted worker behind a DNS name is found again
+            socket.connect(new InetSocketAddress(address.getHostString(), address.getPort()), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            IslandProtocol.writeHello(out);
+            out.flush();
+            IslandProtocol.writeProof(out, secret, IslandProtocol.readChallenge(in));
+            IslandProtocol.writeInit(out, problem, populationSize);
+            out.flush();
+            expect(IslandProtocol.OK);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    InetSocketAddress address() {
+        return address;
+    }
+
+    @Override
+    public EpochResult runEpoch(int generations, int[][] immigrants, int emigrantCount, long deadlineNanos) throws IOException {
+        IslandProtocol.writeEpoch(out, generations, emigrantCount, deadlineNanos, immigrants);
+        out.flush();
+        expect(IslandProtocol.RESULT);
+        return IslandProtocol.readResult(in, problem.volunteerCount(), problem.serviceCount(), emigrantCount);
+    }
+
+    private void expect(byte type) throws IOException {
+        byte received = in.readByte();
+        if (received == IslandProtocol.ERROR) {
+            throw new IOException("Worker " + address + " failed: " + in.readUTF());
+        }
+        if (received != type) {
+            throw new IOException("Unexpected message " + received + " from worker " + address);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (socket) {
+            out.writeByte(IslandProtocol.CLOSE);
+            out.flush();
+        } catch (IOException e) {
+            // The worker is already gone; nothing to release on its side
+        }
+    }
+}
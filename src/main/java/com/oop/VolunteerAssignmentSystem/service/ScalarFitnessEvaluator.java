@@ -0,0 +1,36 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import java.util.Arrays;
+
+/**
+ * Plain loop evaluation; always available and the reference for the vector kernel.
+ */
+final class ScalarFitnessEvaluator implements FitnessEvaluator {
+    private final AssignmentProblem problem;
+    private final int[] serviceCounts;
+
+    ScalarFitnessEvaluator(AssignmentProblem problem) {
+        this.problem = problem;
+        this.serviceCounts = new int[problem.serviceCount()];
+    }
+
+    @Override
+    public double evaluate(GeneMatrix population, int row) {
+        int serviceCount = problem.serviceCount();
+        double totalCost = 0;
+        Arrays.fill(serviceCounts, 0);
+
+        // Preference cost: (rank - 1)^2 for a preferred service, 10 * Nd^2 otherwise (looked up per gene)
+        for (int v = 0; v < population.columns(); v++) {
+            int s = population.get(row, v);
+            serviceCounts[s]++;
+            totalCost += problem.geneCost(v, s);
+        }
+
+        // Add penalty for exceeding service capacity
+        for (int s = 0; s < serviceCount; s++) {
+            totalCost += AssignmentProblem.capacityPenalty(serviceCounts[s], problem.capacity(s));
+        }
+        return totalCost;
+    }
+}
@@ -0,0 +1,106 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Pre-serialized service catalog of each event.
+ * <p>
+ * The catalog JSON is built once per catalog version (InMemoryServiceRepository.getVersion) and reused as bytes
+ * until a service changes, so registration peaks, where nearly every request asks for the same unchanged catalog,
+ * no longer re-serialize it per request. Each payload carries an ETag for conditional requests.
+ */
+@Component
+public class ServiceCatalogCache {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCatalogCache.class);
+    private static final byte[] VOLUNTEER_FIELD = "{\"volunteer\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVICES_FIELD = ",\"services\":".getBytes(StandardCharsets.UTF_8);
+
+    /** Catalog JSON (an array of ServiceDetails) of one catalog version. */
+    public record CatalogPayload(long version, byte[] json, String etag) {
+    }
+
+    private final EventRepositoryRegistry eventRepositories;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CatalogPayload> payloads = new ConcurrentHashMap<>(); // Key: eventId
+    // Versions restart with the process; this keeps a previous run's /initial-data ETags from matching
+    private final String instanceTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    public ServiceCatalogCache(EventRepositoryRegistry eventRepositories, ObjectMapper objectMapper) {
+        this.eventRepositories = eventRepositories;
+        this.objectMapper = objectMapper;
+    }
+
+    public CatalogPayload catalog(String eventId) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        InMemoryServiceRepository serviceRepository = repositories.serviceRepository();
+        long version = serviceRepository.getVersion();
+        CatalogPayload cached = payloads.get(repositories.eventId());
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        // Read after the version: a change landing in between is cached under the older version and rebuilt next time
+        byte[] json = serialize(serviceRepository.findAll());
+        CatalogPayload payload = new CatalogPayload(version, json, "\"" + version + "-" + checksum(json) + "\"");
+        payloads.merge(repositories.eventId(), payload, (previous, built) -> built.version() >= previous.version() ? built : previous);
+        logger.debug("Serialized the service catalog of event {} at version {} ({} bytes)", repositories.eventId(), version, json.length);
+        return payload;
+    }
+
+    /**
+     * The /initial-data body, {"volunteer": ..., "services": [...]}, with the catalog spliced in from the cached bytes.
+     * Without services only the volunteer field is written (for clients that fetch the catalog separately).
+     */
+    public byte[] initialData(String eventId, Volunteer volunteer, boolean includeServices) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(VOLUNTEER_FIELD);
+        body.writeBytes(serialize(volunteer));
+        if (includeServices) {
+            body.writeBytes(SERVICES_FIELD);
+            body.writeBytes(catalog(eventId).json());
+        }
+        body.write('}');
+        return body.toByteArray();
+    }
+
+    /**
+     * ETag of a volunteer's /initial-data response, from the data versions alone, so that a matching If-None-Match is
+     * answered before the body is built. Only the volunteer's own submissions and catalog changes change it.
+     * Call it before reading the data: a change landing in between then only costs the client a full response.
+     */
+    public String initialDataEtag(String eventId, String volunteerId, boolean includeServices) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        long preferenceVersion = repositories.preferenceRepository().getVersion(volunteerId);
+        return "\"" + instanceTag + "-" + preferenceVersion
+                + (includeServices ? "-" + repositories.serviceRepository().getVersion() : "") + "\"";
+    }
+
+    private static String checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return Long.toHexString(crc.getValue());
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
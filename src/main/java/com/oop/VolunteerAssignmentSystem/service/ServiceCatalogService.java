@@ -0,0 +1,92 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.repository.CatalogChange;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Changes to an event's service catalog. Each change bumps the catalog version and is passed on to the
+ * AssignmentService, so a capacity change updates the current plan instead of waiting for a full re-optimization.
+ * The plan update itself runs on the optimizer; the caller only waits for the change to be stored.
+ */
+@Service
+public class ServiceCatalogService {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCatalogService.class);
+    // Same alphabet as event IDs; also keeps service IDs safe for the comma-separated preference journal
+    private static final Pattern SERVICE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final EventRepositoryRegistry eventRepositories;
+    private final AssignmentService assignmentService;
+
+    public ServiceCatalogService(EventRepositoryRegistry eventRepositories, AssignmentService assignmentService) {
+        this.eventRepositories = eventRepositories;
+        this.assignmentService = assignmentService;
+    }
+
+    /**
+     * @param expectedVersion catalog version the caller based the change on, or InMemoryServiceRepository.ANY_VERSION
+     */
+    public CatalogChange createService(String eventId, ServiceDetails service, long expectedVersion) {
+        validate(service);
+        return apply(eventId, serviceRepository -> serviceRepository.create(service, expectedVersion));
+    }
+
+    public CatalogChange updateService(String eventId, String serviceId, ServiceDetails service, long expectedVersion) {
+        if (service.getId() != null && !service.getId().equals(serviceId)) {
+            throw new IllegalArgumentException("Service ID " + service.getId() + " does not match " + serviceId);
+        }
+        ServiceDetails updated = new ServiceDetails(serviceId, service.getName(), service.getMaxVolunteers());
+        validate(updated);
+        return apply(eventId, serviceRepository -> serviceRepository.update(updated, expectedVersion));
+    }
+
+    public CatalogChange deleteService(String eventId, String serviceId, long expectedVersion) {
+        return apply(eventId, serviceRepository -> serviceRepository.delete(serviceId, expectedVersion));
+    }
+
+    // Changes of one event are applied one at a time, so the plan sees them in catalog version order
+    private CatalogChange apply(String eventId, Function<InMemoryServiceRepository, CatalogChange> operation) {
+        EventRepositories repositories = eventRepositories.forEvent(eventId);
+        InMemoryServiceRepository serviceRepository = repositories.serviceRepository();
+        synchronized (serviceRepository) {
+            CatalogChange change = operation.apply(serviceRepository);
+            logger.info("Service catalog of event {} is now at version {}: {} -> {}", repositories.eventId(), change.version(),
+                    change.previous(), change.current());
+            try {
+                assignmentService.applyCatalogChange(repositories.eventId(), change).whenComplete((updated, e) -> {
+                    if (e != null) {
+                        logPlanUpdateFailure(repositories.eventId(), e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logPlanUpdateFailure(repositories.eventId(), e);
+            }
+            return change;
+        }
+    }
+
+    // The change itself stands; the next optimization starts from scratch
+    private static void logPlanUpdateFailure(String eventId, Throwable e) {
+        logger.error("Could not update the current plan of event {} after a catalog change", eventId, e);
+    }
+
+    private static void validate(ServiceDetails service) {
+        if (service.getId() == null || !SERVICE_ID_PATTERN.matcher(service.getId()).matches()) {
+            throw new IllegalArgumentException("Invalid service ID: " + service.getId());
+        }
+        if (service.getName() == null || service.getName().isBlank()) {
+            throw new IllegalArgumentException("Service " + service.getId() + " needs a name.");
+        }
+        if (service.getMaxVolunteers() < 0) {
+            throw new IllegalArgumentException("maxVolunteers of service " + service.getId() + " cannot be negative.");
+        }
+    }
+}
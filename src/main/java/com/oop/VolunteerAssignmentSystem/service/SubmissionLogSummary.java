@@ -0,0 +1,65 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replaces per-request INFO lines on the preference submission path with one periodic summary.
+ * When registration opens, thousands of submissions per second would otherwise be thousands of log lines per second;
+ * the individual submissions are still logged at DEBUG.
+ */
+@Component
+public class SubmissionLogSummary {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionLogSummary.class);
+
+    private final long intervalMillis;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final ScheduledExecutorService timer;
+
+    public SubmissionLogSummary(@Value("${logging.submissions.summary-interval-ms:10000}") long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        if (intervalMillis > 0) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "submission-log-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleAtFixedRate(this::logSummary, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.timer = null; // Summaries off; counting is cheap enough to keep
+        }
+    }
+
+    public void accepted() {
+        accepted.increment();
+    }
+
+    public void rejected() {
+        rejected.increment();
+    }
+
+    void logSummary() {
+        long acceptedCount = accepted.sumThenReset();
+        long rejectedCount = rejected.sumThenReset();
+        if (acceptedCount > 0 || rejectedCount > 0) {
+            logger.info("Preference submissions in the last {} ms: {} accepted, {} rejected.", intervalMillis, acceptedCount, rejectedCount);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            logSummary();
+        }
+    }
+}
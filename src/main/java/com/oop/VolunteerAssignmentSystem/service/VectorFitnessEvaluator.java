@@ -0,0 +1,108 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD evaluation with the incubating Vector API. Only loaded when FitnessEvaluator.isVectorApiAvailable().
+ * The gene cost sum starts every lane at the non-preferred cost and blends in the preferred cost wherever the gene
+ * matches that volunteer's k-th preferred service, one pass per preference slot; the service histogram itself stays
+ * scalar (lanes would collide on the same service) but the overflow term over it is vectorized.
+ * All costs are whole numbers, so the different summation order gives exactly the scalar result.
+ */
+final class VectorFitnessEvaluator implements FitnessEvaluator {
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Ints with as many lanes as DOUBLE_SPECIES, so gene comparisons line up with cost lanes
+    private static final VectorSpecies<Integer> GENE_SPECIES =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLE_SPECIES.length() * Integer.SIZE));
+
+    private final AssignmentProblem problem;
+    private final int[] genes;
+    private final int[] serviceCounts;
+    private final int slots; // Longest preference list
+    // slotServices[k * volunteerCount + v] is the k-th preferred service of v (-1 past the end of its list),
+    // slotCosts the matching gene cost: column-major so each slot is read in contiguous blocks
+    private final int[] slotServices;
+    private final double[] slotCosts;
+
+    VectorFitnessEvaluator(AssignmentProblem problem) {
+        this.problem = problem;
+        int volunteerCount = problem.volunteerCount();
+        this.genes = new int[volunteerCount];
+        this.serviceCounts = new int[problem.serviceCount()];
+        int longest = 0;
+        for (int v = 0; v < volunteerCount; v++) {
+            longest = Math.max(longest, problem.preferredServices(v).length);
+        }
+        this.slots = longest;
+        int cells = Math.multiplyExact(slots, volunteerCount);
+        this.slotServices = new int[cells];
+        this.slotCosts = new double[cells];
+        Arrays.fill(slotServices, -1);
+        for (int v = 0; v < volunteerCount; v++) {
+            int[] preferred = problem.preferredServices(v);
+            double[] costs = problem.preferredCosts(v);
+            for (int k = 0; k < preferred.length; k++) {
+                slotServices[k * volunteerCount + v] = preferred[k];
+                slotCosts[k * volunteerCount + v] = costs[k];
+            }
+        }
+    }
+
+    @Override
+    public double evaluate(GeneMatrix population, int row) {
+        population.readRow(row, genes);
+        return geneCostSum() + overflowPenalty();
+    }
+
+    private double geneCostSum() {
+        int volunteerCount = genes.length;
+        DoubleVector nonPreferred = DoubleVector.broadcast(DOUBLE_SPECIES, problem.nonPreferredCost());
+        DoubleVector sums = DoubleVector.zero(DOUBLE_SPECIES);
+        int v = 0;
+        for (int upper = DOUBLE_SPECIES.loopBound(volunteerCount); v < upper; v += DOUBLE_SPECIES.length()) {
+            IntVector block = IntVector.fromArray(GENE_SPECIES, genes, v);
+            DoubleVector costs = nonPreferred;
+            // A volunteer lists a service at most once, so at most one slot matches per lane
+            for (int k = 0, offset = v; k < slots; k++, offset += volunteerCount) {
+                VectorMask<Double> preferred = block.eq(IntVector.fromArray(GENE_SPECIES, slotServices, offset))
+                        .cast(DOUBLE_SPECIES);
+                costs = costs.blend(DoubleVector.fromArray(DOUBLE_SPECIES, slotCosts, offset), preferred);
+            }
+            sums = sums.add(costs);
+        }
+        double total = sums.reduceLanes(VectorOperators.ADD);
+        for (; v < volunteerCount; v++) {
+            total += problem.geneCost(v, genes[v]);
+        }
+        return total;
+    }
+
+    private double overflowPenalty() {
+        Arrays.fill(serviceCounts, 0);
+        for (int gene : genes) {
+            serviceCounts[gene]++;
+        }
+
+        int[] capacities = problem.capacities();
+        long overflow = 0;
+        int s = 0;
+        for (int upper = INT_SPECIES.loopBound(serviceCounts.length); s < upper; s += INT_SPECIES.length()) {
+            overflow += IntVector.fromArray(INT_SPECIES, serviceCounts, s)
+                    .sub(IntVector.fromArray(INT_SPECIES, capacities, s))
+                    .max(0)
+                    .reduceLanes(VectorOperators.ADD);
+        }
+        for (; s < serviceCounts.length; s++) {
+            overflow += Math.max(0, serviceCounts[s] - capacities[s]);
+        }
+        return AssignmentProblem.CAPACITY_PENALTY * overflow;
+    }
+}
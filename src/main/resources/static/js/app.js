@@ -3,6 +3,18 @@ let availableServicesData = []; // Store the full service data (id, name, capaci
 let myChoicesSortableInstance = null;
 let availableServicesSortableInstance = null;
 
+// Optional event scope, e.g. /?event=spring-fair; without it the page works on the default event
+const pageParams = new URLSearchParams(window.location.search);
+const eventId = pageParams.get('event');
+// With ?compact=1 results arrive dictionary-encoded on the compact sibling of the event's topic (see decodeResult);
+// the server only sends them there with assignment.broadcast.compact=true
+const assignmentsTopic = (eventId ? `/topic/events/${eventId}/assignments` : '/topic/assignments')
+    + (pageParams.get('compact') === '1' ? '/compact' : '');
+
+function apiUrl(path) {
+    return eventId ? `/api/events/${encodeURIComponent(eventId)}${path}` : `/api${path}`;
+}
+
 document.addEventListener('DOMContentLoaded', () => {
     connectWebSocket();
     initializeSortableLists();
@@ -13,8 +25,8 @@ function connectWebSocket() {
     stompClient = Stomp.over(socket);
     stompClient.connect({}, (frame) => {
         console.log('Connected to WebSocket: ' + frame);
-        stompClient.subscribe('/topic/assignments', (message) => {
-            showAssignmentResults(JSON.parse(message.body));
+        stompClient.subscribe(assignmentsTopic, (message) => {
+            showAssignmentResults(decodeResult(JSON.parse(message.body)));
         });
         // If using STOMP, send CONNECT frame here if not handled by library automatically
         // This depends on your specific STOMP client and server setup.
@@ -115,13 +127,17 @@ function fetchInitialData() {
     }
     document.getElementById('pref-status').textContent = 'Loading...';
 
-    fetch(`/api/preferences/initial-data?volunteerId=${volunteerId}`)
-        .then(response => {
-            if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
-            return response.json();
-        })
-        .then(data => {
-            availableServicesData = data.services || [];
+    // The catalog comes from its own endpoint so the browser cache can revalidate it by ETag (304 when unchanged)
+    const getJson = (url) => fetch(url).then(response => {
+        if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
+        return response.json();
+    });
+    Promise.all([
+        getJson(apiUrl('/services')),
+        getJson(apiUrl(`/preferences/initial-data?volunteerId=${encodeURIComponent(volunteerId)}&includeServices=false`))
+    ])
+        .then(([services, data]) => {
+            availableServicesData = services || [];
             const volunteerPrefs = data.volunteer?.preferredServicesRanks || {};
 
             const availableListEl = document.getElementById('available-services-list');
@@ -195,7 +211,7 @@ function submitPreferences() {
     };
 
     document.getElementById('pref-status').textContent = 'Submitting...';
-    fetch(`/api/preferences/${volunteerId}`, {
+    fetch(apiUrl(`/preferences/${volunteerId}`), {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(preferenceData)
@@ -216,7 +232,7 @@ function submitPreferences() {
 
 function triggerOptimization() {
     document.getElementById('opt-status').textContent = 'Triggering optimization...';
-    fetch('/api/assignment/optimize', { method: 'POST' })
+    fetch(apiUrl('/assignment/optimize'), { method: 'POST' })
         .then(response => response.text())
         .then(data => {
             document.getElementById('opt-status').textContent = data;
@@ -228,6 +244,27 @@ function triggerOptimization() {
         });
 }
 
+// Expands a compact result (services dictionary + per-volunteer columns) into the AssignmentResult shape;
+// anything else, e.g. an error result, is returned as is
+function decodeResult(result) {
+    if (result.format !== 'compact-v1') {
+        return result;
+    }
+    const assignments = result.volunteers.map((volunteerId, i) => ({
+        volunteerId: volunteerId,
+        serviceId: result.services[result.serviceIndices[i]],
+        cost: result.costByRank[result.preferenceRanks[i]],
+        preferenceRank: result.preferenceRanks[i]
+    }));
+    return {
+        assignments: assignments,
+        totalCost: result.totalCost,
+        lowerBound: result.lowerBound,
+        optimalityGap: result.optimalityGap,
+        message: result.message
+    };
+}
+
 function showAssignmentResults(result) {
     console.log('Received assignment result:', result);
     const resultsTableBody = document.getElementById('assignment-table-body');
@@ -238,17 +275,21 @@ function showAssignmentResults(result) {
     }
 
     if (result.assignments && result.assignments.length > 0) {
+        const serviceNames = new Map(availableServicesData.map(s => [s.id, s.name])); // One lookup per row
         result.assignments.forEach(assignment => {
             const row = resultsTableBody.insertRow();
             row.insertCell().textContent = assignment.volunteerId;
-            const service = availableServicesData.find(s => s.id === assignment.serviceId);
-            row.insertCell().textContent = service ? service.name : assignment.serviceId;
+            row.insertCell().textContent = serviceNames.get(assignment.serviceId) ?? assignment.serviceId;
             row.insertCell().textContent = assignment.cost.toFixed(2);
             row.insertCell().textContent = assignment.preferenceRank === 0 ? 'Not Preferred' : assignment.preferenceRank;
         });
         document.getElementById('total-cost').textContent = result.totalCost.toFixed(2);
+        // 0% means no plan can cost less than this one
+        document.getElementById('optimality-gap').textContent =
+            `${(result.optimalityGap * 100).toFixed(1)}% (lower bound ${result.lowerBound.toFixed(2)})`;
     } else {
         document.getElementById('total-cost').textContent = "N/A";
+        document.getElementById('optimality-gap').textContent = "N/A";
         const row = resultsTableBody.insertRow();
         const cell = row.insertCell();
         cell.colSpan = 4;
@@ -0,0 +1,36 @@
+package com.oop.VolunteerAssignmentSystem;
+
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.service.AssignmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Broadcasts with the shipped configuration: full JSON on the original topic, nothing on /compact.
+ */
+@SpringBootTest
+class AssignmentBroadcastDefaultsTest {
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Test
+    void triggerOptimization_ShouldPublishFullJsonOnly() {
+        assignmentService.triggerOptimization();
+
+        verify(messagingTemplate, timeout(30_000)).convertAndSend(eq("/topic/assignments"), any(AssignmentResult.class));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/assignments/compact"), any(Object.class));
+    }
+}
@@ -0,0 +1,62 @@
+package com.oop.VolunteerAssignmentSystem;
+
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.service.AssignmentService;
+import com.oop.VolunteerAssignmentSystem.service.GaParameterOverrides;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-run GA settings on the optimize endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OptimizeEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AssignmentService assignmentService;
+
+    @Test
+    void optimize_ShouldPassTheRequestedGaSettingsToTheRun() throws Exception {
+        mockMvc.perform(post("/api/assignment/optimize")
+                        .param("parameters", "adaptive")
+                        .param("populationSize", "40")
+                        .param("mutationRate", "0.02"))
+                .andExpect(status().isOk());
+
+        verify(assignmentService).triggerOptimization(eq(EventRepositoryRegistry.DEFAULT_EVENT), isNull(),
+                eq(new GaParameterOverrides("adaptive", 40, null, 0.02, null, null)));
+    }
+
+    @Test
+    void optimize_WithoutGaSettings_ShouldUseTheConfiguredOnes() throws Exception {
+        mockMvc.perform(post("/api/assignment/optimize")).andExpect(status().isOk());
+
+        verify(assignmentService).triggerOptimization(EventRepositoryRegistry.DEFAULT_EVENT, null, GaParameterOverrides.NONE);
+    }
+
+    @Test
+    void optimize_ShouldRejectInvalidGaSettings() throws Exception {
+        mockMvc.perform(post("/api/assignment/optimize").param("mutationRate", "1.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/assignment/optimize").param("parameters", "random")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/assignment/optimize/sync").param("populationSize", "1")).andExpect(status().isBadRequest());
+
+        verify(assignmentService, never()).triggerOptimization(any(), any(), any());
+        verify(assignmentService, never()).optimizeWithin(any(), any(), any(), any());
+    }
+}
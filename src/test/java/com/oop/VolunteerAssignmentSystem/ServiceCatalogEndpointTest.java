@@ -0,0 +1,124 @@
+package com.oop.VolunteerAssignmentSystem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs of the catalog and /initial-data, and versioned catalog changes, through the full MVC stack.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServiceCatalogEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void catalog_ShouldAnswerMatchingIfNoneMatchWith304() throws Exception {
+        String etag = mockMvc.perform(get("/api/services"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.length()").value(10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/services").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(put("/api/events/catalog-endpoint")).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/events/catalog-endpoint/services").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()) // Another event, another catalog
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void unknownEvent_ShouldBeNotFoundUntilCreated() throws Exception {
+        String event = "/api/events/not-created-yet";
+        mockMvc.perform(get(event + "/services")).andExpect(status().isNotFound());
+        mockMvc.perform(get(event + "/services/demand")).andExpect(status().isNotFound());
+        mockMvc.perform(get(event + "/preferences/initial-data").param("volunteerId", "volunteer1")).andExpect(status().isNotFound());
+        mockMvc.perform(post(event + "/preferences/volunteer1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rankedServiceIds\":[\"service1\"]}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(event + "/assignment/optimize")).andExpect(status().isNotFound());
+
+        mockMvc.perform(put(event)).andExpect(status().isCreated());
+        mockMvc.perform(put(event)).andExpect(status().isOk());
+        mockMvc.perform(get(event + "/preferences/initial-data").param("volunteerId", "volunteer1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.volunteer.preferredServicesRanks").isEmpty()) // No dummy volunteers
+                .andExpect(jsonPath("$.services.length()").value(0));
+        mockMvc.perform(put("/api/events/not valid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void initialData_ShouldAnswerMatchingIfNoneMatchWith304() throws Exception {
+        String etag = mockMvc.perform(get("/api/preferences/initial-data").param("volunteerId", "volunteer1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.volunteer.id").value("volunteer1"))
+                .andExpect(jsonPath("$.services.length()").value(10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/preferences/initial-data").param("volunteerId", "volunteer1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/preferences/initial-data").param("volunteerId", "volunteer1")
+                        .param("includeServices", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.services").doesNotExist());
+    }
+
+    @Test
+    void catalogChanges_ShouldBeVersionedByETag() throws Exception {
+        String services = "/api/events/catalog-edits/services";
+        mockMvc.perform(put("/api/events/catalog-edits")).andExpect(status().isCreated());
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post(services).contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"id\":\"service" + i + "\",\"name\":\"Service " + i + "\",\"maxVolunteers\":3}"))
+                    .andExpect(status().isCreated());
+        }
+        String etag = mockMvc.perform(get(services)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String updated = mockMvc.perform(put(services + "/service1").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Front desk\",\"maxVolunteers\":7}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("service1"))
+                .andExpect(jsonPath("$.maxVolunteers").value(7))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, updated);
+
+        mockMvc.perform(delete(services + "/service2").header(HttpHeaders.IF_MATCH, etag)) // Stale ETag
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(post(services).header(HttpHeaders.IF_MATCH, updated)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"id\":\"parking\",\"name\":\"Parking\",\"maxVolunteers\":2}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(services)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"id\":\"parking\",\"name\":\"Parking\",\"maxVolunteers\":2}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete(services + "/service2")).andExpect(status().isNoContent());
+        mockMvc.perform(delete(services + "/service2")).andExpect(status().isNotFound());
+        mockMvc.perform(put(services + "/service3").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"\",\"maxVolunteers\":1}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(services))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[?(@.id == 'service1')].name").value("Front desk"))
+                .andExpect(jsonPath("$[?(@.id == 'parking')].maxVolunteers").value(2));
+    }
+}
@@ -0,0 +1,189 @@
+package com.oop.VolunteerAssignmentSystem;
+
+import com.oop.VolunteerAssignmentSystem.service.AssignmentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end load test against the real server on a random local port: concurrent preference submissions over REST,
+ * then many STOMP subscribers on /ws-assign/websocket receiving one optimization result (time includes the GA run).
+ * Reports p50, p99 and throughput. Sizes are system properties, e.g.
+ * <pre>
+ * mvn test -Dgroups=benchmark -DexcludedGroups=none -Dtest=SubmissionLoadBenchmark \
+ *     -Dload.submissions=20000 -Dload.concurrency=2000 -Dload.subscribers=2000 -Dspring.threads.virtual.enabled=true
+ * </pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.oop.VolunteerAssignmentSystem=WARN")
+class SubmissionLoadBenchmark {
+    private static final int SUBMISSIONS = Integer.getInteger("load.submissions", 5_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 500);
+    private static final int SUBSCRIBERS = Integer.getInteger("load.subscribers", 1_000);
+    // Fan-out is measured on a separate event with only the seeded volunteers, so the broadcast result stays small
+    // (the result of the submission phase's event would exceed the client's default frame size)
+    private static final String FAN_OUT_EVENT = "load-fan-out";
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void submissionsAndSubscribers() throws Exception {
+        System.out.printf("Virtual threads: %s%n", Boolean.getBoolean("spring.threads.virtual.enabled"));
+        System.out.printf("%-26s %8s %10s %10s %12s %7s%n", "phase", "count", "p50 ms", "p99 ms", "per second", "errors");
+        submitPreferences();
+        subscribeAndBroadcast();
+    }
+
+    private void submitPreferences() throws Exception {
+        long[] latencies = new long[SUBMISSIONS];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                int request = i;
+                inFlight.acquire();
+                clients.execute(() -> {
+                    try {
+                        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/preferences/load" + request))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"rankedServiceIds\":[\"service" + (request % 10 + 1) + "\",\"service" + ((request + 3) % 10 + 1) + "\"]}"))
+                                .build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = http.send(post, HttpResponse.BodyHandlers.discarding());
+                        latencies[request] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        latencies[request] = Long.MAX_VALUE;
+                        errors.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(CONCURRENCY); // All requests answered
+            report("REST submissions", latencies, System.nanoTime() - start, errors.get());
+        }
+        assertEquals(0, errors.get(), "Failed submissions");
+    }
+
+    private void subscribeAndBroadcast() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        long[] connectLatencies = new long[SUBSCRIBERS];
+        long[] deliveryNanos = new long[SUBSCRIBERS];
+        CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS);
+        List<StompSession> sessions = new ArrayList<>();
+        AtomicInteger errors = new AtomicInteger();
+        long[] broadcastAt = new long[1];
+
+        long start = System.nanoTime();
+        List<CompletableFuture<StompSession>> connecting = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            long connectStart = System.nanoTime();
+            int subscriber = i;
+            connecting.add(stompClient.connectAsync("ws://localhost:" + port + "/ws-assign/websocket", new StompSessionHandlerAdapter() {
+                        @Override
+                        public void handleTransportError(StompSession session, Throwable exception) {
+                            System.out.println("Subscriber " + subscriber + " transport error: " + exception);
+                        }
+
+                        @Override
+                        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                                    byte[] payload, Throwable exception) {
+                            System.out.println("Subscriber " + subscriber + " failed to handle " + command + ": " + exception);
+                        }
+                    })
+                    .whenComplete((session, ex) -> connectLatencies[subscriber] = ex == null ? System.nanoTime() - connectStart : Long.MAX_VALUE));
+        }
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            int subscriber = i;
+            try {
+                StompSession session = connecting.get(i).get(30, TimeUnit.SECONDS);
+                sessions.add(session);
+                session.subscribe(AssignmentService.assignmentsTopic(FAN_OUT_EVENT), new StompFrameHandler() {
+                    @Override
+                    public Type getPayloadType(StompHeaders headers) {
+                        return Map.class; // Only the arrival time matters
+                    }
+
+                    @Override
+                    public void handleFrame(StompHeaders headers, Object payload) {
+                        deliveryNanos[subscriber] = System.nanoTime() - broadcastAt[0];
+                        delivered.countDown();
+                    }
+                });
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                deliveryNanos[subscriber] = Long.MAX_VALUE;
+                delivered.countDown();
+            }
+        }
+        report("STOMP connects", connectLatencies, System.nanoTime() - start, errors.get());
+
+        Thread.sleep(1_000); // SUBSCRIBE frames are fire-and-forget; let the broker register them
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/" + FAN_OUT_EVENT))
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            assertEquals(201, http.send(create, HttpResponse.BodyHandlers.discarding()).statusCode()); // Empty: the broadcast is small
+            HttpRequest trigger = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/" + FAN_OUT_EVENT + "/assignment/optimize"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            broadcastAt[0] = System.nanoTime(); // Includes the optimization itself
+            assertEquals(200, http.send(trigger, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+        boolean all = delivered.await(60, TimeUnit.SECONDS);
+        int missing = (int) delivered.getCount();
+        report("STOMP result fan-out", deliveryNanos, System.nanoTime() - broadcastAt[0], errors.get() + missing);
+        sessions.stream().filter(StompSession::isConnected).forEach(StompSession::disconnect);
+        stompClient.stop();
+        assertEquals(true, all, missing + " subscribers did not receive the result");
+    }
+
+    private static void report(String phase, long[] latencyNanos, long elapsedNanos, int errors) {
+        long[] sorted = Arrays.stream(latencyNanos).filter(latency -> latency > 0 && latency != Long.MAX_VALUE).sorted().toArray();
+        System.out.printf("%-26s %8d %10.2f %10.2f %12.0f %7d%n", phase, latencyNanos.length,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                latencyNanos.length / (elapsedNanos / 1e9), errors);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
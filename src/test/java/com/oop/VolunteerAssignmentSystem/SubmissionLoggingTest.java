@@ -0,0 +1,31 @@
+package com.oop.VolunteerAssignmentSystem;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.oop.VolunteerAssignmentSystem.controller.PreferenceController;
+import com.oop.VolunteerAssignmentSystem.service.AssignmentService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Only the submission path is logged through the async queue; everything else goes straight to Boot's appenders.
+ */
+@SpringBootTest
+class SubmissionLoggingTest {
+
+    @Test
+    void submissionPath_ShouldBeLoggedAsynchronously_AndNothingElse() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger submissions = context.getLogger(PreferenceController.class);
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+
+        assertNotNull(submissions.getAppender("ASYNC_SUBMISSIONS"));
+        assertFalse(submissions.isAdditive(), "Submission lines must not also be written directly via root");
+        assertNull(root.getAppender("ASYNC_SUBMISSIONS"));
+        assertNull(context.getLogger(AssignmentService.class).getAppender("ASYNC_SUBMISSIONS"));
+        assertNull(root.getAppender("FILE"), "No log file unless logging.file.name or logging.file.path is set");
+    }
+}
@@ -0,0 +1,65 @@
+package com.oop.VolunteerAssignmentSystem.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactAssignmentResultTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_ShouldEncodeServicesOnceAndRowsAsColumns() {
+        AssignmentResult result = new AssignmentResult();
+        result.setAssignments(List.of(
+                new Assignment("v1", "s2", 0, 1),
+                new Assignment("v2", "s1", 1, 2),
+                new Assignment("v3", "s2", 90, 0)));
+        result.setTotalCost(91);
+        result.setLowerBound(91);
+        result.setMessage("Optimization complete. Best assignment found.");
+
+        CompactAssignmentResult compact = CompactAssignmentResult.of(result);
+
+        assertEquals(CompactAssignmentResult.FORMAT, compact.getFormat());
+        assertEquals(List.of("s2", "s1"), compact.getServices());
+        assertEquals(List.of("v1", "v2", "v3"), compact.getVolunteers());
+        assertArrayEquals(new int[]{0, 1, 0}, compact.getServiceIndices());
+        assertArrayEquals(new int[]{1, 2, 0}, compact.getPreferenceRanks());
+        assertArrayEquals(new double[]{90, 0, 1}, compact.getCostByRank());
+        assertEquals(91, compact.getTotalCost());
+        assertEquals(result.getMessage(), compact.getMessage());
+    }
+
+    @Test
+    void of_ShouldShrinkLargeResults() throws IOException {
+        AssignmentResult result = new AssignmentResult();
+        List<Assignment> assignments = new ArrayList<>();
+        for (int v = 0; v < 30_000; v++) {
+            int rank = v % 6;
+            assignments.add(new Assignment("volunteer" + v, "service" + (v % 100), rank == 0 ? 100_000 : (rank - 1) * (rank - 1), rank));
+        }
+        result.setAssignments(assignments);
+
+        byte[] full = objectMapper.writeValueAsBytes(result);
+        byte[] compact = objectMapper.writeValueAsBytes(CompactAssignmentResult.of(result));
+
+        assertTrue(compact.length * 3 < full.length, "compact " + compact.length + " vs full " + full.length + " bytes");
+        assertTrue(gzip(compact).length * 10 < full.length, "gzipped compact " + gzip(compact).length + " vs full " + full.length + " bytes");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,20 +1,32 @@
 package com.oop.VolunteerAssignmentSystem.service;
 
+import com.oop.VolunteerAssignmentSystem.model.Assignment;
 import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.CompactAssignmentResult;
 import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
 import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
 import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
 import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.ServiceDemandIndex;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class AssignmentServiceTest {
@@ -38,11 +50,14 @@ class AssignmentServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
-    @InjectMocks
     private AssignmentService assignmentService;
 
     public AssignmentServiceTest() {
         MockitoAnnotations.openMocks(this);
+        when(preferenceRepository.getDemandIndex()).thenReturn(new ServiceDemandIndex());
+        assignmentService = new AssignmentService(geneticAlgorithmService,
+                new EventRepositoryRegistry(serviceRepository, preferenceRepository),
+                new OptimizationScheduler(2, 0), messagingTemplate, true, true, true);
     }
 
     @Test
@@ -56,7 +71,7 @@ class AssignmentServiceTest {
         expectedResult.setMessage("No volunteers with preferences available for assignment.");
         verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/assignments", expectedResult);
 
-        verify(geneticAlgorithmService, never()).run(anyMap(), anyList());
+        verify(geneticAlgorithmService, never()).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any());
     }
 
     @Test
@@ -70,7 +85,7 @@ class AssignmentServiceTest {
         expectedResult.setMessage("No services available for assignment.");
         verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/assignments", expectedResult);
 
-        verify(geneticAlgorithmService, never()).run(anyMap(), anyList());
+        verify(geneticAlgorithmService, never()).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any());
     }
 
     @Test
@@ -86,18 +101,41 @@ class AssignmentServiceTest {
 
         when(preferenceRepository.findAllVolunteersWithPreferences()).thenReturn(volunteers);
         when(serviceRepository.findAll()).thenReturn(services);
-        when(geneticAlgorithmService.run(volunteers, services)).thenReturn(result);
+        when(geneticAlgorithmService.run(eq(volunteers), eq(services), anyInt(), anyLong(), any(), any())).thenReturn(result);
 
         assignmentService.triggerOptimization();
 
         verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/assignments", result);
     }
 
+    @Test
+    void testTriggerOptimization_WithoutFullJson_ShouldPublishOnlyTheCompactResult() {
+        AssignmentService compactOnly = new AssignmentService(geneticAlgorithmService,
+                new EventRepositoryRegistry(serviceRepository, preferenceRepository),
+                new OptimizationScheduler(2, 0), messagingTemplate, true, false, true);
+        Map<String, Volunteer> volunteers = Map.of("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")));
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1));
+        AssignmentResult result = new AssignmentResult();
+        result.setAssignments(List.of(new Assignment("v1", "s1", 0, 1)));
+        result.setMessage(GeneticAlgorithmService.COMPLETE_MESSAGE);
+        when(preferenceRepository.findAllVolunteersWithPreferences()).thenReturn(volunteers);
+        when(serviceRepository.findAll()).thenReturn(services);
+        when(geneticAlgorithmService.run(eq(volunteers), eq(services), anyInt(), anyLong(), any(), any())).thenReturn(result);
+
+        compactOnly.triggerOptimization();
+
+        verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/assignments/compact"),
+                argThat((CompactAssignmentResult compact) -> compact.getVolunteers().equals(List.of("v1"))
+                        && compact.getServices().equals(List.of("s1"))
+                        && GeneticAlgorithmService.COMPLETE_MESSAGE.equals(compact.getMessage())));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/assignments"), any(Object.class));
+    }
+
     @Test
     void testTriggerOptimization_ExceptionHandling() {
         when(preferenceRepository.findAllVolunteersWithPreferences()).thenReturn(Map.of("1", new Volunteer()));
         when(serviceRepository.findAll()).thenReturn(List.of(new ServiceDetails()));
-        when(geneticAlgorithmService.run(anyMap(), anyList())).thenThrow(new RuntimeException("Test exception"));
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenThrow(new RuntimeException("Test exception"));
 
         assignmentService.triggerOptimization();
 
@@ -105,4 +143,307 @@ class AssignmentServiceTest {
         expectedResult.setMessage("Error during optimization: Test exception");
         verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/assignments", expectedResult);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOptimize_DisjointClusters_ShouldSolvePartsSeparatelyAndMerge() {
+        // Two clusters ({a1, a2} and {b1}) plus a volunteer without preferences
+        Map<String, Volunteer> volunteers = Map.of(
+                "v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1", 2, "a2")),
+                "v2", new Volunteer("v2", "Volunteer 2", Map.of(1, "a2")),
+                "v3", new Volunteer("v3", "Volunteer 3", Map.of(1, "b1")),
+                "v4", new Volunteer("v4", "Volunteer 4", Map.of()));
+        List<ServiceDetails> services = List.of(
+                new ServiceDetails("a1", "A1", 1), new ServiceDetails("a2", "A2", 1),
+                new ServiceDetails("b1", "B1", 1), new ServiceDetails("c1", "C1", 1));
+        // Each part is answered with every volunteer on their first choice
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            Map<String, Volunteer> partVolunteers = invocation.getArgument(0);
+            AssignmentResult partResult = new AssignmentResult();
+            partResult.setAssignments(partVolunteers.values().stream()
+                    .map(v -> new Assignment(v.getId(), v.getPreferredServicesRanks().get(1), 0, 1))
+                    .collect(Collectors.toList()));
+            return partResult;
+        });
+
+        AssignmentResult result = assignmentService.optimize(EventRepositoryRegistry.DEFAULT_EVENT, volunteers, services, null);
+
+        verify(geneticAlgorithmService, times(2)).run(anyMap(), anyList(), eq(4), anyLong(), any(), any());
+        verify(geneticAlgorithmService, never()).run(eq(volunteers), anyList(), anyInt(), anyLong(), any(), any());
+        Map<String, String> plan = result.getAssignments().stream()
+                .collect(Collectors.toMap(Assignment::getVolunteerId, Assignment::getServiceId));
+        assertEquals(Map.of("v1", "a1", "v2", "a2", "v3", "b1", "v4", "c1"), plan);
+        // Only v4 is off their preferences: 10 * Nd^2 with Nd = 4 services in the whole catalog
+        assertEquals(160, result.getTotalCost());
+    }
+
+    @Test
+    void testOptimize_SingleCluster_ShouldRunWholeProblem() {
+        Map<String, Volunteer> volunteers = Map.of(
+                "v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1", 2, "a2")),
+                "v2", new Volunteer("v2", "Volunteer 2", Map.of(1, "a2")));
+        List<ServiceDetails> services = List.of(new ServiceDetails("a1", "A1", 1), new ServiceDetails("a2", "A2", 1));
+        AssignmentResult expected = new AssignmentResult();
+        when(geneticAlgorithmService.run(eq(volunteers), eq(services), eq(2), anyLong(), any(), any())).thenReturn(expected);
+
+        assertSame(expected, assignmentService.optimize(EventRepositoryRegistry.DEFAULT_EVENT, volunteers, services, null));
+        verify(geneticAlgorithmService, times(1)).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testTriggerOptimization_OtherEvent_ShouldUseEventRepositoriesAndTopic() {
+        AssignmentResult result = new AssignmentResult();
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenReturn(result);
+        result.setAssignments(List.of());
+
+        EventRepositoryRegistry registry = new EventRepositoryRegistry(serviceRepository, preferenceRepository);
+        registry.createEvent("spring-fair");
+        new AssignmentService(geneticAlgorithmService, registry, new OptimizationScheduler(2, 0), messagingTemplate, true, true, true)
+                .triggerOptimization("spring-fair", null);
+
+        // The event has its own (empty) repositories, not the default event's
+        verify(messagingTemplate, timeout(5000)).convertAndSend(eq("/topic/events/spring-fair/assignments"), any(AssignmentResult.class));
+        verify(preferenceRepository, never()).findAllVolunteersWithPreferences();
+    }
+
+    @Test
+    void testOptimizeWithin_IdenticalConcurrentRequests_ShouldShareOneRun() throws Exception {
+        Map<String, Volunteer> volunteers = Map.of("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1")));
+        List<ServiceDetails> services = List.of(new ServiceDetails("a1", "A1", 1));
+        when(preferenceRepository.findAllVolunteersWithPreferences()).thenReturn(volunteers);
+        when(serviceRepository.findAll()).thenReturn(services);
+        AssignmentResult expected = new AssignmentResult();
+        CountDownLatch release = new CountDownLatch(1);
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return expected;
+        });
+
+        CompletableFuture<AssignmentResult> first = assignmentService.optimizeWithin(
+                EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(5));
+        CompletableFuture<AssignmentResult> second = assignmentService.optimizeWithin(
+                EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(5));
+        release.countDown();
+
+        assertSame(expected, first.get(5, TimeUnit.SECONDS));
+        assertSame(expected, second.get(5, TimeUnit.SECONDS));
+        verify(geneticAlgorithmService, times(1)).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testOptimizeWithin_DuringFullRun_ShouldStartItsOwnRun() throws Exception {
+        when(preferenceRepository.findAllVolunteersWithPreferences())
+                .thenReturn(Map.of("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1"))));
+        when(serviceRepository.findAll()).thenReturn(List.of(new ServiceDetails("a1", "A1", 1)));
+        AssignmentResult bounded = new AssignmentResult();
+        CountDownLatch release = new CountDownLatch(1);
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), eq(GeneticAlgorithmService.NO_DEADLINE), any(), any()))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS); // The full run outlasts the caller's deadline
+                    return new AssignmentResult();
+                });
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), longThat(deadline -> deadline != GeneticAlgorithmService.NO_DEADLINE),
+                any(), any())).thenReturn(bounded);
+
+        // Two workers for the event, so the bounded run is not queued behind the full one
+        AssignmentService service = new AssignmentService(geneticAlgorithmService,
+                new EventRepositoryRegistry(serviceRepository, preferenceRepository),
+                new OptimizationScheduler(3, 2), messagingTemplate, true, true, true);
+
+        service.triggerOptimization();
+        verify(geneticAlgorithmService, timeout(1000)).run(anyMap(), anyList(), anyInt(), eq(GeneticAlgorithmService.NO_DEADLINE), any(), any());
+        CompletableFuture<AssignmentResult> result = service.optimizeWithin(
+                EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofMillis(200));
+
+        assertSame(bounded, result.get(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void testOptimizeWithin_NoResultInTime_ShouldTimeOut() {
+        when(preferenceRepository.findAllVolunteersWithPreferences())
+                .thenReturn(Map.of("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1"))));
+        when(serviceRepository.findAll()).thenReturn(List.of(new ServiceDetails("a1", "A1", 1)));
+        CountDownLatch release = new CountDownLatch(1);
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS); // A run that ignores its deadline
+            return new AssignmentResult();
+        });
+
+        CompletableFuture<AssignmentResult> result = assignmentService.optimizeWithin(
+                EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofMillis(50));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        release.countDown();
+    }
+
+    // Real optimizer and repositories: an optimized event whose capacities are then edited through ServiceCatalogService
+    private record CapacityFixture(GeneticAlgorithmService geneticAlgorithm, EventRepositoryRegistry registry,
+                                   AssignmentService assignments, ServiceCatalogService catalog) {
+        static CapacityFixture create(SimpMessagingTemplate messagingTemplate) {
+            GeneticAlgorithmService geneticAlgorithm = spy(new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR,
+                    CapacityRepair.CAPACITY, GaParameters.FIXED_MODE, 0.5, new MemeticLocalSearch(true, 200, 0, 2), new IslandModel(1, "", 20, 2, 30000, ""), new LowerBound(200, 0)));
+            InMemoryServiceRepository defaultServices = new InMemoryServiceRepository();
+            EventRepositoryRegistry registry = new EventRepositoryRegistry(defaultServices, new InMemoryPreferenceRepository(defaultServices));
+            AssignmentService assignments = new AssignmentService(geneticAlgorithm, registry, new OptimizationScheduler(2, 0),
+                    messagingTemplate, true, true, true);
+            return new CapacityFixture(geneticAlgorithm, registry, assignments, new ServiceCatalogService(registry, assignments));
+        }
+
+        void setCapacity(String serviceId, int capacity) {
+            ServiceDetails service = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).serviceRepository().findById(serviceId).orElseThrow();
+            catalog.updateService(EventRepositoryRegistry.DEFAULT_EVENT, serviceId,
+                    new ServiceDetails(serviceId, service.getName(), capacity), InMemoryServiceRepository.ANY_VERSION);
+        }
+    }
+
+    private static long assignedTo(AssignmentResult result, String serviceId) {
+        return result.getAssignments().stream().filter(assignment -> assignment.getServiceId().equals(serviceId)).count();
+    }
+
+    @Test
+    void testCapacityChange_ShouldUpdateTheCurrentPlanWithoutRerunningTheGa() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        for (int i = 1; i <= 10; i++) {
+            fixture.setCapacity("service" + i, 10); // Room for everyone elsewhere once service1 shrinks
+        }
+        AssignmentResult optimized = fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null,
+                Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+        clearInvocations(fixture.geneticAlgorithm());
+
+        fixture.setCapacity("service1", 1);
+
+        verify(messagingTemplate, timeout(5000)).convertAndSend(eq("/topic/assignments"),
+                argThat((AssignmentResult result) -> AssignmentService.CAPACITY_UPDATE_MESSAGE.equals(result.getMessage())
+                        && result.getAssignments().size() == optimized.getAssignments().size()
+                        && assignedTo(result, "service1") <= 1));
+        verify(fixture.geneticAlgorithm()).warmStart(any(), any(), anyDouble());
+        verify(fixture.geneticAlgorithm(), never()).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testOptimize_ShouldSeedFromTheEventsDemandIndex() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        Map<String, Integer> demand = fixture.registry().forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository()
+                .getDemandIndex().snapshot().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().volunteers()));
+
+        fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+
+        assertFalse(demand.isEmpty());
+        verify(fixture.geneticAlgorithm()).run(anyMap(), anyList(), anyInt(), anyLong(), any(), eq(demand));
+    }
+
+    @Test
+    void testCapacityChange_ShouldNotWaitForTheWarmStart() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(fixture.geneticAlgorithm()).warmStart(any(), any(), anyDouble());
+
+        fixture.setCapacity("service1", 1); // Returns while the warm start is held
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        fixture.setCapacity("service1", 2); // Still finds the plan of the previous catalog version
+        release.countDown();
+
+        verify(fixture.geneticAlgorithm(), timeout(5000).times(2)).warmStart(any(), any(), anyDouble());
+        verify(messagingTemplate, timeout(5000)).convertAndSend(eq("/topic/assignments"),
+                argThat((AssignmentResult result) -> AssignmentService.CAPACITY_UPDATE_MESSAGE.equals(result.getMessage())
+                        && assignedTo(result, "service1") <= 2));
+    }
+
+    @Test
+    void testCapacityChange_AfterNewSubmissions_ShouldCarryThePlanOver() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+        InMemoryPreferenceRepository preferences = fixture.registry().forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository();
+        preferences.saveAll(Map.of("late-volunteer", List.of("service2")));
+
+        fixture.setCapacity("service2", 20);
+
+        verify(messagingTemplate, timeout(5000)).convertAndSend(eq("/topic/assignments"),
+                argThat((AssignmentResult result) -> AssignmentService.CAPACITY_UPDATE_MESSAGE.equals(result.getMessage())
+                        && result.getAssignments().size() == preferences.getTotalVolunteersWithPreferences()
+                        && result.getAssignments().stream().anyMatch(assignment -> assignment.getVolunteerId().equals("late-volunteer")
+                        && assignment.getServiceId().equals("service2"))));
+        verify(fixture.geneticAlgorithm(), times(1)).run(anyMap(), anyList(), anyInt(), anyLong(), any(), any()); // Only the first optimization
+    }
+
+    @Test
+    void testCatalogChange_WithoutPlanOrNewService_ShouldNotPublish() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        fixture.setCapacity("service1", 9); // Nothing optimized yet
+
+        fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null, Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+        fixture.catalog().createService(EventRepositoryRegistry.DEFAULT_EVENT, new ServiceDetails("service11", "Service 11", 3),
+                InMemoryServiceRepository.ANY_VERSION);
+        fixture.setCapacity("service1", 2); // The plan predates service11, so there is nothing to warm-start from
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(fixture.geneticAlgorithm(), never()).warmStart(any(), any(), anyDouble());
+    }
+
+    private static AssignmentResult planOf(String volunteerId, String serviceId, int rank) {
+        AssignmentResult result = new AssignmentResult();
+        result.setAssignments(List.of(new Assignment(volunteerId, serviceId, (rank - 1) * (rank - 1), rank)));
+        result.setTotalCost((rank - 1) * (rank - 1));
+        return result;
+    }
+
+    @Test
+    void testReoptimize_WorsePlan_ShouldNeverBecomeCurrent() throws Exception {
+        when(preferenceRepository.findAllVolunteersWithPreferences())
+                .thenReturn(Map.of("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "a1", 2, "a2", 3, "a3"))));
+        when(serviceRepository.findAll()).thenReturn(List.of(new ServiceDetails("a1", "A1", 1),
+                new ServiceDetails("a2", "A2", 1), new ServiceDetails("a3", "A3", 1)));
+        AssignmentResult best = planOf("v1", "a1", 1);
+        AssignmentResult worst = planOf("v1", "a3", 3);
+        AssignmentResult middle = planOf("v1", "a2", 2);
+        when(geneticAlgorithmService.run(anyMap(), anyList(), anyInt(), anyLong(), any(), any())).thenReturn(best, worst, middle);
+
+        assertEquals(Optional.of(best), assignmentService.reoptimize(EventRepositoryRegistry.DEFAULT_EVENT,
+                Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS), "Without a current plan any full plan is published");
+        assertTrue(assignmentService.reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofSeconds(5))
+                .get(5, TimeUnit.SECONDS).isEmpty());
+        // Had the worse plan become current, this one would beat it
+        assertTrue(assignmentService.reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofSeconds(5))
+                .get(5, TimeUnit.SECONDS).isEmpty());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/assignments"), any(Object.class));
+    }
+
+    @Test
+    void testReoptimize_ShouldPublishOnlyAPlanCheaperThanTheCurrentOne() throws Exception {
+        CapacityFixture fixture = CapacityFixture.create(messagingTemplate);
+        for (int i = 1; i <= 10; i++) {
+            fixture.setCapacity("service" + i, 30); // Everyone fits their first choice, so every run ends at cost 0
+        }
+        AssignmentResult optimized = fixture.assignments().optimizeWithin(EventRepositoryRegistry.DEFAULT_EVENT, null,
+                Duration.ofSeconds(30)).get(35, TimeUnit.SECONDS);
+        clearInvocations(messagingTemplate);
+
+        assertEquals(0, optimized.getTotalCost());
+        assertTrue(fixture.assignments().reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofSeconds(30))
+                .get(35, TimeUnit.SECONDS).isEmpty(), "Nothing changed, so nothing to improve on");
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        // volunteer1 now only wants a service the current plan does not give them
+        String assigned = optimized.getAssignments().stream().filter(assignment -> assignment.getVolunteerId().equals("volunteer1"))
+                .findFirst().orElseThrow().getServiceId();
+        String wanted = assigned.equals("service1") ? "service2" : "service1";
+        fixture.registry().forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository()
+                .saveAll(Map.of("volunteer1", List.of(wanted)));
+
+        AssignmentResult published = fixture.assignments().reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofSeconds(30))
+                .get(35, TimeUnit.SECONDS).orElseThrow();
+
+        assertEquals(0, published.getTotalCost());
+        assertTrue(published.getAssignments().stream().anyMatch(assignment -> assignment.getVolunteerId().equals("volunteer1")
+                && assignment.getServiceId().equals(wanted)));
+        verify(messagingTemplate).convertAndSend("/topic/assignments", published);
+    }
+}
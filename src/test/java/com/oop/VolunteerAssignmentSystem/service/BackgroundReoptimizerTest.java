@@ -0,0 +1,108 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+class BackgroundReoptimizerTest {
+
+    private final AssignmentService assignmentService = mock(AssignmentService.class);
+    private final InMemoryServiceRepository services = new InMemoryServiceRepository();
+    private final InMemoryPreferenceRepository preferences = new InMemoryPreferenceRepository(services);
+    private final EventRepositoryRegistry registry = new EventRepositoryRegistry(services, preferences);
+
+    // Checked by hand rather than on the timer
+    private BackgroundReoptimizer reoptimizer(long quietPeriodMillis, long changeThreshold) {
+        BackgroundReoptimizer reoptimizer = new BackgroundReoptimizer(assignmentService, registry, false, 1000,
+                quietPeriodMillis, changeThreshold, 2000);
+        reoptimizer.check(); // First sight of the default event: its initial data is not a change
+        return reoptimizer;
+    }
+
+    private void submit(int volunteers) {
+        Map<String, List<String>> batch = new HashMap<>();
+        for (int i = 0; i < volunteers; i++) {
+            batch.put("new-volunteer" + i, List.of("service1"));
+        }
+        preferences.saveAll(batch);
+    }
+
+    @Test
+    void check_WithoutChanges_ShouldNotReoptimize() {
+        BackgroundReoptimizer reoptimizer = reoptimizer(0, 100);
+
+        reoptimizer.check();
+
+        verify(assignmentService, never()).reoptimize(anyString(), any());
+    }
+
+    @Test
+    void check_ShouldWaitForTheQuietPeriodBelowTheThreshold() {
+        BackgroundReoptimizer reoptimizer = reoptimizer(60_000, 100);
+        submit(99);
+
+        reoptimizer.check();
+
+        verify(assignmentService, never()).reoptimize(anyString(), any());
+    }
+
+    @Test
+    void check_ShouldRunOnceTheThresholdIsReached_AndOnlyOneRunAtATime() {
+        CompletableFuture<Optional<AssignmentResult>> run = new CompletableFuture<>();
+        when(assignmentService.reoptimize(anyString(), any())).thenReturn(run);
+        BackgroundReoptimizer reoptimizer = reoptimizer(60_000, 100);
+        submit(60);
+        services.save(new ServiceDetails("service11", "Service 11", 3)); // Catalog changes count too
+        submit(39);
+
+        reoptimizer.check();
+
+        verify(assignmentService).reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofMillis(2000));
+
+        submit(100);
+        reoptimizer.check();
+        verify(assignmentService, times(1)).reoptimize(anyString(), any()); // The first run has not finished
+
+        run.complete(Optional.empty());
+        reoptimizer.check();
+        verify(assignmentService, times(2)).reoptimize(anyString(), any());
+    }
+
+    @Test
+    void check_ShouldCountSubmissionsMadeBeforeAnEventWasFirstSeen() {
+        when(assignmentService.reoptimize(anyString(), any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        BackgroundReoptimizer reoptimizer = reoptimizer(0, 100);
+        registry.createEvent("spring-fair");
+        registry.forEvent("spring-fair").serviceRepository().save(new ServiceDetails("stage", "Stage", 8));
+        registry.forEvent("spring-fair").preferenceRepository().saveAll(Map.of("alice", List.of("stage")));
+
+        reoptimizer.check();
+
+        verify(assignmentService).reoptimize("spring-fair", Duration.ofMillis(2000));
+        verify(assignmentService, never()).reoptimize(eq(EventRepositoryRegistry.DEFAULT_EVENT), any());
+    }
+
+    @Test
+    void check_ShouldRunAfterTheQuietPeriod() {
+        when(assignmentService.reoptimize(anyString(), any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        BackgroundReoptimizer reoptimizer = reoptimizer(0, 100);
+        submit(1);
+
+        reoptimizer.check();
+        reoptimizer.check(); // Nothing new since the run
+
+        verify(assignmentService, times(1)).reoptimize(EventRepositoryRegistry.DEFAULT_EVENT, Duration.ofMillis(2000));
+    }
+}
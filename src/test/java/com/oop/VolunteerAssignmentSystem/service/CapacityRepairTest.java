@@ -0,0 +1,83 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityRepairTest {
+
+    @Test
+    void repair_ShouldMoveCheapestVolunteerToNextBestServiceWithRoom() {
+        List<ServiceDetails> services = List.of(
+                new ServiceDetails("s1", "Service 1", 1),
+                new ServiceDetails("s2", "Service 2", 1),
+                new ServiceDetails("s3", "Service 3", 5));
+        List<Volunteer> volunteers = List.of(
+                new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")),             // Would become non-preferred if moved
+                new Volunteer("v2", "Volunteer 2", Map.of(1, "s1", 2, "s2")));   // Second choice still has room
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+        try (GeneMatrix population = GeneMatrix.allocate(1, 2, false)) {
+            population.set(0, 0, 0);
+            population.set(0, 1, 0);
+
+            int moved = new CapacityRepair(problem).repair(population, 0);
+
+            assertEquals(1, moved);
+            assertEquals(0, population.get(0, 0), "v1 keeps their only choice");
+            assertEquals(1, population.get(0, 1), "v2 moves to their second choice");
+        }
+    }
+
+    @Test
+    void repair_ShouldMakeRandomChromosomesFeasible_WhenCapacityAllows() {
+        // 200 volunteers with random preferences, 10 services with room for 220 in total
+        AssignmentProblem randomPreferences = FitnessEvaluatorTest.randomProblem(200, 10, 3);
+        List<ServiceDetails> services = new ArrayList<>();
+        for (int s = 0; s < 10; s++) {
+            services.add(new ServiceDetails("service" + s, "Service " + s, 22));
+        }
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int v = 0; v < randomPreferences.volunteerCount(); v++) {
+            volunteers.add(randomPreferences.volunteer(v));
+        }
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+        CapacityRepair repair = new CapacityRepair(problem);
+        try (GeneMatrix population = GeneMatrix.allocate(10, problem.volunteerCount(), true)) {
+            FitnessEvaluatorTest.fillRandom(population, problem.serviceCount(), 5);
+            for (int row = 0; row < population.rows(); row++) {
+                int[] counts = new int[problem.serviceCount()];
+                CapacityRepair.count(population, row, counts);
+                repair.repair(population, row, counts);
+                int[] recounted = new int[problem.serviceCount()];
+                for (int v = 0; v < population.columns(); v++) {
+                    recounted[population.get(row, v)]++;
+                }
+                assertArrayEquals(recounted, counts, "Counts kept up to date with the moves in row " + row);
+                for (int s = 0; s < counts.length; s++) {
+                    assertTrue(counts[s] <= problem.capacity(s), "Service " + s + " still over capacity in row " + row);
+                }
+            }
+        }
+    }
+
+    @Test
+    void repair_ShouldLeaveChromosome_WhenThereIsNoRoom() {
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1));
+        List<Volunteer> volunteers = List.of(
+                new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")),
+                new Volunteer("v2", "Volunteer 2", Map.of(1, "s1")));
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+        try (GeneMatrix population = GeneMatrix.allocate(1, 2, false)) {
+            assertEquals(0, new CapacityRepair(problem).repair(population, 0));
+        }
+    }
+}
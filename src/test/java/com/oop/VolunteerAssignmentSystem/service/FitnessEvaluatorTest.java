@@ -0,0 +1,89 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FitnessEvaluatorTest {
+
+    static AssignmentProblem randomProblem(int volunteerCount, int serviceCount, long seed) {
+        Random random = new Random(seed);
+        List<ServiceDetails> services = new ArrayList<>();
+        for (int s = 0; s < serviceCount; s++) {
+            services.add(new ServiceDetails("service" + s, "Service " + s, 1 + random.nextInt(Math.max(1, 2 * volunteerCount / serviceCount))));
+        }
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int v = 0; v < volunteerCount; v++) {
+            Map<Integer, String> ranks = new HashMap<>();
+            int preferred = random.nextInt(Math.min(5, serviceCount) + 1); // Some volunteers have no preferences
+            for (int rank = 1; rank <= preferred; rank++) {
+                ranks.put(rank, "service" + random.nextInt(serviceCount));
+            }
+            volunteers.add(new Volunteer("volunteer" + v, "Volunteer " + v, ranks));
+        }
+        return new AssignmentProblem(volunteers, services);
+    }
+
+    static void fillRandom(GeneMatrix population, int serviceCount, long seed) {
+        Random random = new Random(seed);
+        for (int r = 0; r < population.rows(); r++) {
+            for (int c = 0; c < population.columns(); c++) {
+                population.set(r, c, random.nextInt(serviceCount));
+            }
+        }
+    }
+
+    @Test
+    void scalarEvaluator_ShouldSumGeneCostsAndCapacityPenalty() {
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1), new ServiceDetails("s2", "Service 2", 5));
+        List<Volunteer> volunteers = List.of(
+                new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")),
+                new Volunteer("v2", "Volunteer 2", Map.of(1, "s1", 2, "s2")),
+                new Volunteer("v3", "Volunteer 3", Map.of()));
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+        try (GeneMatrix population = GeneMatrix.allocate(1, 3, false)) {
+            population.set(0, 0, 0); // v1 -> s1, rank 1: cost 0
+            population.set(0, 1, 0); // v2 -> s1, rank 1: cost 0, s1 now one over capacity
+            population.set(0, 2, 1); // v3 -> s2, not preferred: 10 * 2^2
+            double cost = new ScalarFitnessEvaluator(problem).evaluate(population, 0);
+            assertEquals(40 + 1000, cost);
+        }
+    }
+
+    @Test
+    void vectorEvaluator_ShouldMatchScalarEvaluator() {
+        assertTrue(FitnessEvaluator.isVectorApiAvailable(), "Tests run with --add-modules jdk.incubator.vector");
+        // Sizes around and between vector lane counts to cover the scalar tails
+        int[][] sizes = {{1, 1}, {7, 3}, {33, 10}, {250, 17}, {1000, 64}};
+        for (int[] size : sizes) {
+            AssignmentProblem problem = randomProblem(size[0], size[1], size[0]);
+            FitnessEvaluator scalar = new ScalarFitnessEvaluator(problem);
+            FitnessEvaluator vector = new VectorFitnessEvaluator(problem);
+            for (boolean offHeap : new boolean[]{false, true}) {
+                try (GeneMatrix population = GeneMatrix.allocate(20, size[0], offHeap)) {
+                    fillRandom(population, size[1], size[1]);
+                    for (int row = 0; row < population.rows(); row++) {
+                        assertEquals(scalar.evaluate(population, row), vector.evaluate(population, row),
+                                "Mismatch for " + size[0] + " volunteers, " + size[1] + " services, row " + row);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void create_ShouldFallBackToScalar_ForScalarKernel() {
+        AssignmentProblem problem = randomProblem(10, 3, 1);
+        assertInstanceOf(ScalarFitnessEvaluator.class, FitnessEvaluator.create(problem, FitnessEvaluator.SCALAR));
+        assertInstanceOf(VectorFitnessEvaluator.class, FitnessEvaluator.create(problem, FitnessEvaluator.AUTO));
+    }
+}
@@ -0,0 +1,53 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Scalar vs Vector API fitness evaluation on realistic instance sizes.
+ * Opt-in: mvn test -Dgroups=benchmark -DexcludedGroups=none -Dtest=FitnessKernelBenchmark
+ */
+@Tag("benchmark")
+class FitnessKernelBenchmark {
+    private static final int POPULATION_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 30;
+
+    @Test
+    void compareKernels() {
+        int[][] sizes = {{300, 10}, {3_000, 10}, {30_000, 10}, {30_000, 100}, {100_000, 20}};
+        System.out.printf("%-12s %-9s %-10s %14s %14s %8s%n", "volunteers", "services", "storage", "scalar ns/eval", "vector ns/eval", "speedup");
+        for (int[] size : sizes) {
+            AssignmentProblem problem = FitnessEvaluatorTest.randomProblem(size[0], size[1], 42);
+            for (boolean offHeap : new boolean[]{false, true}) {
+                try (GeneMatrix population = GeneMatrix.allocate(POPULATION_SIZE, size[0], offHeap)) {
+                    FitnessEvaluatorTest.fillRandom(population, size[1], 7);
+                    double scalar = nanosPerEvaluation(new ScalarFitnessEvaluator(problem), population);
+                    double vector = nanosPerEvaluation(new VectorFitnessEvaluator(problem), population);
+                    System.out.printf("%-12d %-9d %-10s %14.0f %14.0f %7.2fx%n",
+                            size[0], size[1], offHeap ? "off-heap" : "heap", scalar, vector, scalar / vector);
+                }
+            }
+        }
+    }
+
+    private static double nanosPerEvaluation(FitnessEvaluator evaluator, GeneMatrix population) {
+        double sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int row = 0; row < population.rows(); row++) {
+                sink += evaluator.evaluate(population, row);
+            }
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (int row = 0; row < population.rows(); row++) {
+                sink += evaluator.evaluate(population, row);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(); // Keeps the results live
+        }
+        return (double) elapsed / (MEASURED_ROUNDS * population.rows());
+    }
+}
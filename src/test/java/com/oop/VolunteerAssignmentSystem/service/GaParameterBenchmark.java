@@ -0,0 +1,57 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed vs adaptive GA parameters (see GaParameters) on random instances of increasing size: cost and time of a
+ * full run, and cost reached within the same time budget. Costs are GA only (no final local search), with the
+ * gap to the lower bound.
+ * Opt-in: mvn test -Dgroups=benchmark -DexcludedGroups=none -Dtest=GaParameterBenchmark
+ */
+@Tag("benchmark")
+class GaParameterBenchmark {
+    private static final int SEEDS = 3;
+    private static final long TIME_BUDGET_MILLIS = 2_000;
+
+    private final MemeticLocalSearch noLocalSearch = new MemeticLocalSearch(false, 0, 0, 0);
+    private final LowerBound lowerBound = new LowerBound(200, -1);
+
+    @Test
+    void compareFixedAndAdaptive() {
+        int[][] sizes = {{300, 10}, {3_000, 30}, {30_000, 100}};
+        System.out.printf("%-11s %-9s %-9s %5s %12s %9s %9s %14s %9s%n", "volunteers", "services", "mode", "pop",
+                "full cost", "gap", "full ms", "budget cost", "gap");
+        for (int[] size : sizes) {
+            for (boolean adaptive : new boolean[]{false, true}) {
+                double fullCost = 0;
+                double budgetCost = 0;
+                double bound = 0;
+                long fullNanos = 0;
+                GaParameters parameters = adaptive ? GaParameters.adaptiveFor(size[0]) : GaParameters.FIXED;
+                for (int seed = 0; seed < SEEDS; seed++) {
+                    AssignmentProblem problem = FitnessEvaluatorTest.randomProblem(size[0], size[1], 42 + seed);
+                    bound += lowerBound.compute(problem);
+                    long start = System.nanoTime();
+                    fullCost += evolve(problem, parameters, GeneticAlgorithmService.NO_DEADLINE);
+                    fullNanos += System.nanoTime() - start;
+                    budgetCost += evolve(problem, parameters.withMaxGenerations(Integer.MAX_VALUE),
+                            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIME_BUDGET_MILLIS));
+                }
+                System.out.printf("%-11d %-9d %-9s %5d %12.0f %8.2f%% %9d %14.0f %8.2f%%%n", size[0], size[1],
+                        adaptive ? "adaptive" : "fixed", parameters.populationSize(),
+                        fullCost / SEEDS, 100 * LowerBound.gap(fullCost, bound), TimeUnit.NANOSECONDS.toMillis(fullNanos / SEEDS),
+                        budgetCost / SEEDS, 100 * LowerBound.gap(budgetCost, bound));
+            }
+        }
+    }
+
+    private double evolve(AssignmentProblem problem, GaParameters parameters, long deadlineNanos) {
+        try (Island island = new Island(problem, parameters, false, FitnessEvaluator.SCALAR, CapacityRepair.CAPACITY, noLocalSearch, 0)) {
+            island.evolve(parameters.maxGenerations(), deadlineNanos);
+            return island.bestCost();
+        }
+    }
+}
@@ -123,4 +123,128 @@ public class GeneticAlgorithmServiceTest {
         assertTrue(result.getTotalCost() > 0);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testRun_WithOffHeapPopulation_ShouldMatchHeapBehaviour() {
+        GeneticAlgorithmService offHeapService = new GeneticAlgorithmService(true, FitnessEvaluator.SCALAR, CapacityRepair.CAPACITY, GaParameters.FIXED_MODE, 0.5,
+                new MemeticLocalSearch(true, 200, 10, 2), new IslandModel(1, "", 20, 2, 30000, ""), new LowerBound(200, 0));
+        Map<String, Volunteer> volunteerMap = new HashMap<>();
+        volunteerMap.put("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")));
+        volunteerMap.put("v2", new Volunteer("v2", "Volunteer 2", Map.of(1, "s2")));
+        List<ServiceDetails> serviceDetailsList = List.of(
+                new ServiceDetails("s1", "Service 1", 1),
+                new ServiceDetails("s2", "Service 2", 1));
+
+        AssignmentResult result = offHeapService.run(volunteerMap, serviceDetailsList);
+
+        assertEquals("Optimization complete. Best assignment found.", result.getMessage());
+        assertEquals(2, result.getAssignments().size());
+        assertEquals(0, result.getTotalCost(), "Both volunteers fit their first choice");
+    }
+
+    @Test
+    void testRun_ShouldReportLowerBoundAndGap() {
+        // Three volunteers compete for s1 (capacity 1); the next best plan puts two of them at their second choice
+        Map<String, Volunteer> volunteerMap = new HashMap<>();
+        for (int i = 1; i <= 3; i++) {
+            volunteerMap.put("v" + i, new Volunteer("v" + i, "Volunteer " + i, Map.of(1, "s1", 2, "s2")));
+        }
+        List<ServiceDetails> serviceDetailsList = List.of(
+                new ServiceDetails("s1", "Service 1", 1),
+                new ServiceDetails("s2", "Service 2", 2));
+
+        AssignmentResult result = geneticAlgorithmService.run(volunteerMap, serviceDetailsList);
+
+        assertEquals(GeneticAlgorithmService.COMPLETE_MESSAGE, result.getMessage());
+        assertEquals(2, result.getTotalCost());
+        assertEquals(2, result.getLowerBound(), "The bound proves the plan optimal");
+        assertEquals(0, result.getOptimalityGap());
+    }
+
+    @Test
+    void testAdaptiveParameters_ShouldScaleWithInstanceSize() {
+        GaParameters small = GaParameters.adaptiveFor(30);
+        GaParameters large = GaParameters.adaptiveFor(30_000);
+
+        assertEquals(GaParameters.FIXED.populationSize(), small.populationSize());
+        assertEquals(2.0 / 30, small.mutationRate(), 1e-12, "About two mutated genes per child");
+        assertEquals(GaParameters.MIN_ADAPTIVE_POPULATION, large.populationSize());
+        assertEquals(2.0 / 30_000, large.mutationRate(), 1e-12);
+        assertTrue(large.adaptive() && !GaParameters.FIXED.adaptive());
+    }
+
+    @Test
+    void testAdaptiveIsland_ShouldRaiseMutationWhenStalled() {
+        // Everyone already fits their first choice and every row is seeded with it, so the search stalls right away;
+        // with 2,000 genes a few mutations per child keep the population converged
+        GeneticAlgorithmService fullySeeded = new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR, "none", GaParameters.FIXED_MODE, 1,
+                new MemeticLocalSearch(false, 0, 0, 0), new IslandModel(1, "", 20, 2, 30000, ""), new LowerBound(200, 0));
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1000), new ServiceDetails("s2", "Service 2", 1000));
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            volunteers.add(new Volunteer("v" + i, "Volunteer " + i, Map.of(1, i % 2 == 0 ? "s1" : "s2")));
+        }
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services, services.size(), Map.of("s1", 1000, "s2", 1000));
+        GaParameters parameters = GaParameters.adaptiveFor(problem.volunteerCount()).withPopulationSize(20);
+
+        try (Island island = fullySeeded.createIsland(problem, parameters)) {
+            island.evolve(3 * Island.STALL_GENERATIONS);
+
+            assertTrue(island.mutationRate() > parameters.mutationRate(), "Mutation went up from " + parameters.mutationRate());
+            assertTrue(island.mutationRate() <= parameters.mutationRate() * Island.MAX_MUTATION_BOOST);
+            assertTrue(island.tournamentSize() < parameters.tournamentSize(), "Selection pressure went down");
+        }
+    }
+
+    @Test
+    void testRun_WithPassedDeadline_ShouldReturnBestPlanSoFar() {
+        Map<String, Volunteer> volunteerMap = new HashMap<>();
+        volunteerMap.put("v1", new Volunteer("v1", "Volunteer 1", Map.of(1, "s1")));
+        volunteerMap.put("v2", new Volunteer("v2", "Volunteer 2", Map.of(1, "s2")));
+        List<ServiceDetails> serviceDetailsList = List.of(
+                new ServiceDetails("s1", "Service 1", 1),
+                new ServiceDetails("s2", "Service 2", 1));
+
+        AssignmentResult result = geneticAlgorithmService.run(volunteerMap, serviceDetailsList, 2, System.nanoTime());
+
+        assertEquals(GeneticAlgorithmService.DEADLINE_MESSAGE, result.getMessage());
+        assertEquals(2, result.getAssignments().size(), "The initial population still yields a full plan");
+    }
+
+    @Test
+    void testCreateIsland_ShouldSeedFromDemand() {
+        AssignmentProblem problem = fullyPlaceableProblem(true);
+
+        try (Island island = geneticAlgorithmService.createIsland(problem)) {
+            assertEquals(0, island.bestCost(), "The initial population already holds everyone's first choice");
+        }
+        assertEquals(20, problem.demand(3));
+    }
+
+    @Test
+    void testCreateIsland_WithoutDemandOrWithZeroShare_ShouldNotSeed() {
+        GeneticAlgorithmService unseeded = new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR, "none", GaParameters.FIXED_MODE, 0,
+                new MemeticLocalSearch(false, 0, 0, 0), new IslandModel(1, "", 20, 2, 30000, ""), new LowerBound(200, 0));
+
+        try (Island island = unseeded.createIsland(fullyPlaceableProblem(true))) {
+            assertTrue(island.bestCost() > 0, "Share 0 starts from random rows only");
+        }
+        try (Island island = geneticAlgorithmService.createIsland(fullyPlaceableProblem(false))) {
+            assertTrue(island.bestCost() > 0, "Nothing to seed from without the demand");
+        }
+    }
+
+    // 200 volunteers with one preference each, all of which fit: a uniformly random row would almost never score 0
+    private static AssignmentProblem fullyPlaceableProblem(boolean withDemand) {
+        List<ServiceDetails> services = new ArrayList<>();
+        Map<String, Integer> demand = new HashMap<>();
+        for (int s = 0; s < 10; s++) {
+            services.add(new ServiceDetails("s" + s, "Service " + s, 20));
+            demand.put("s" + s, 20);
+        }
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int v = 0; v < 200; v++) {
+            volunteers.add(new Volunteer("v" + v, "Volunteer " + v, Map.of(1, "s" + (v % 10))));
+        }
+        return new AssignmentProblem(volunteers, services, services.size(), withDemand ? demand : null);
+    }
+}
@@ -0,0 +1,238 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.AssignmentResult;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IslandModelTest {
+
+    private static final String SECRET = "island-test-secret";
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 500;
+
+    private final MemeticLocalSearch localSearch = new MemeticLocalSearch(true, 200, 0, 2);
+    private final GeneticAlgorithmService workerGa = new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR,
+            CapacityRepair.CAPACITY, GaParameters.FIXED_MODE, 0.5, localSearch, new IslandModel(1, "", 20, 2, 30000, SECRET), new LowerBound(200, 0));
+    private final OptimizationScheduler workerScheduler = spy(new OptimizationScheduler(2, 0));
+    private IslandWorkerServer worker;
+    private int workerPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        worker = new IslandWorkerServer(workerGa, workerScheduler, 0, "127.0.0.1", SECRET, HANDSHAKE_TIMEOUT_MILLIS);
+        workerPort = worker.startOnLocalhost();
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.close();
+    }
+
+    // 4 services of capacity 5 and 20 volunteers, 5 preferring each service first: the optimum costs 0
+    private static Map<String, Volunteer> volunteers() {
+        Map<String, Volunteer> volunteers = new HashMap<>();
+        for (int v = 0; v < 20; v++) {
+            volunteers.put("v" + v, new Volunteer("v" + v, "Volunteer " + v, Map.of(1, "s" + (v % 4), 2, "s" + ((v + 1) % 4))));
+        }
+        return volunteers;
+    }
+
+    private static List<ServiceDetails> services() {
+        List<ServiceDetails> services = new ArrayList<>();
+        for (int s = 0; s < 4; s++) {
+            services.add(new ServiceDetails("s" + s, "Service " + s, 5));
+        }
+        return services;
+    }
+
+    private static AssignmentProblem problem() {
+        return new AssignmentProblem(new ArrayList<>(volunteers().values()), services());
+    }
+
+    @Test
+    void remoteIsland_ShouldEvolveOnWorkerAndReportValidChromosomes() throws IOException {
+        AssignmentProblem problem = problem();
+
+        try (RemoteIsland island = new RemoteIsland(new InetSocketAddress("127.0.0.1", workerPort), problem, 20, SECRET, 5000)) {
+            IslandHandle.EpochResult first = island.runEpoch(5, new int[0][], 3, GeneticAlgorithmService.NO_DEADLINE);
+            int[][] immigrant = {first.emigrants()[0]};
+            IslandHandle.EpochResult second = island.runEpoch(5, immigrant, 3, GeneticAlgorithmService.NO_DEADLINE);
+
+            assertEquals(3, second.emigrants().length);
+            assertEquals(problem.totalCost(second.emigrants()[0]), second.bestCost(), 1e-9,
+                    "The worker reports the cost of its best chromosome");
+            assertTrue(second.bestCost() <= first.bestCost(), "The immigrant keeps the best cost from getting worse");
+            assertEquals(5, second.generations());
+        }
+        // Creating the island and both epochs went through the worker's optimizer threads
+        verify(workerScheduler, times(3)).submit(eq(IslandWorkerServer.HOSTED_ISLANDS), any());
+    }
+
+    @Test
+    void run_WithLocalhostWorker_ShouldCombineRemoteAndLocalIslands() {
+        GeneticAlgorithmService coordinator = new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR, CapacityRepair.CAPACITY, GaParameters.FIXED_MODE, 0.5,
+                localSearch, new IslandModel(1, "127.0.0.1:" + workerPort, 20, 2, 5000, SECRET), new LowerBound(200, 0));
+
+        AssignmentResult result = coordinator.run(volunteers(), services());
+
+        assertEquals("Optimization complete. Best assignment found.", result.getMessage());
+        assertEquals(20, result.getAssignments().size());
+        assertEquals(0, result.getTotalCost(), "Everyone fits their first choice");
+    }
+
+    @Test
+    void run_WithUnreachableWorker_ShouldEvolveItsIslandLocally() throws IOException {
+        int deadPort;
+        try (ServerSocket unused = new ServerSocket(0)) {
+            deadPort = unused.getLocalPort();
+        }
+        GeneticAlgorithmService coordinator = new GeneticAlgorithmService(false, FitnessEvaluator.SCALAR, CapacityRepair.CAPACITY, GaParameters.FIXED_MODE, 0.5,
+                localSearch, new IslandModel(1, "127.0.0.1:" + deadPort, 20, 2, 1000, SECRET), new LowerBound(200, 0));
+
+        AssignmentResult result = coordinator.run(volunteers(), services());
+
+        assertEquals(20, result.getAssignments().size());
+        assertEquals(0, result.getTotalCost());
+    }
+
+    @Test
+    void evolve_WhenWorkerDiesMidRun_ShouldContinueItsIslandLocally() throws IOException {
+        AssignmentProblem problem = problem();
+        IslandModel islandModel = new IslandModel(1, "", 5, 2, 5000, SECRET);
+        RemoteIsland remote = new RemoteIsland(new InetSocketAddress("127.0.0.1", workerPort), problem, 20, SECRET, 5000);
+        List<IslandHandle> islands = new ArrayList<>(List.of(remote, workerGa.createIsland(problem, 20)));
+
+        worker.close(); // Drops the session before the first epoch
+
+        IslandModel.Best best = islandModel.evolve(problem, islands, p -> workerGa.createIsland(p, 20), 50,
+                GeneticAlgorithmService.NO_DEADLINE);
+
+        assertEquals(problem.totalCost(best.genes()), best.cost(), 1e-9);
+        assertInstanceOf(Island.class, islands.get(0), "The failed remote island was replaced by a local one");
+    }
+
+    @Test
+    void evolve_WithRemoteIsland_ShouldStopAtTheDeadline() throws IOException {
+        // One epoch of the longest length a worker accepts, on a problem large enough that only the deadline ends it in time
+        AssignmentProblem problem = FitnessEvaluatorTest.randomProblem(2_000, 20, 42);
+        int generations = IslandProtocol.MAX_EPOCH_GENERATIONS;
+        IslandModel islandModel = new IslandModel(1, "", generations, 2, 30000, SECRET);
+        RemoteIsland remote = new RemoteIsland(new InetSocketAddress("127.0.0.1", workerPort), problem, 20, SECRET, 30000);
+        List<IslandHandle> islands = new ArrayList<>(List.of(remote));
+        long start = System.nanoTime();
+
+        IslandModel.Best best = islandModel.evolve(problem, islands, p -> workerGa.createIsland(p, 20), generations,
+                start + TimeUnit.MILLISECONDS.toNanos(300));
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 3_000, "Took " + elapsedMillis + " ms");
+        assertFalse(best.complete(), "The deadline cut the only epoch short");
+        assertSame(remote, islands.get(0), "The worker answered in time");
+    }
+
+    @Test
+    void remoteIsland_WhenNobodyListens_ShouldFailWithIOException() throws IOException {
+        int deadPort;
+        try (ServerSocket unused = new ServerSocket(0)) {
+            deadPort = unused.getLocalPort();
+        }
+        assertThrows(IOException.class,
+                () -> new RemoteIsland(new InetSocketAddress("127.0.0.1", deadPort), problem(), 20, SECRET, 1000));
+    }
+
+    @Test
+    void remoteIsland_WithWrongSecret_ShouldBeRejected() {
+        IOException e = assertThrows(IOException.class,
+                () -> new RemoteIsland(new InetSocketAddress("127.0.0.1", workerPort), problem(), 20, "not-the-secret", 5000));
+        assertTrue(e.getMessage().contains("Authentication failed"), e.getMessage());
+    }
+
+    @Test
+    void worker_ShouldDisconnectClientThatDoesNotAuthenticate() throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", workerPort)) {
+            socket.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            IslandProtocol.writeHello(out);
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            IslandProtocol.readChallenge(in);
+            long start = System.nanoTime();
+
+            // No proof is sent: the worker gives up after the handshake timeout and closes the connection
+            assertEquals(-1, in.read());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4), "Closed by the worker, not by the read timeout");
+        }
+    }
+
+    @Test
+    void worker_ShouldRejectOversizedCountsBeforeAllocating() throws IOException {
+        // INIT claiming 2^31-1 volunteers: refused from the header alone
+        assertEquals(IslandProtocol.ERROR, sendAfterHandshake(out -> {
+            out.writeByte(IslandProtocol.INIT);
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeInt(100);
+            out.writeInt(100);
+        }));
+        // A valid INIT followed by an EPOCH announcing more immigrants than the population holds
+        assertEquals(IslandProtocol.ERROR, sendAfterHandshake(out -> {
+            out.writeByte(IslandProtocol.INIT);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(1); // Capacity
+            out.writeInt(0); // No preferences
+            out.writeBoolean(false); // No demand
+            out.writeInt(2); // Population
+            out.flush();
+            out.writeByte(IslandProtocol.EPOCH);
+            out.writeInt(5);
+            out.writeInt(1);
+            out.writeLong(Long.MAX_VALUE); // No deadline
+            out.writeInt(Integer.MAX_VALUE);
+        }));
+    }
+
+    private interface Frames {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Last message type the worker sends back for the frames, after a correct handshake
+    private byte sendAfterHandshake(Frames frames) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", workerPort)) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            IslandProtocol.writeHello(out);
+            out.flush();
+            IslandProtocol.writeProof(out, SECRET, IslandProtocol.readChallenge(in));
+            frames.write(out);
+            out.flush();
+            byte type = in.readByte();
+            while (type == IslandProtocol.OK) {
+                type = in.readByte();
+            }
+            return type;
+        }
+    }
+}
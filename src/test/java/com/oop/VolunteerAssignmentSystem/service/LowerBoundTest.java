@@ -0,0 +1,109 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LowerBoundTest {
+
+    private final LowerBound lowerBound = new LowerBound(200, 0);
+
+    @Test
+    void compute_ShouldReachTheOptimum_WhenOneServiceIsOversubscribed() {
+        // Everyone wants s1, then s2; one of the three has to take s3, which nobody ranks (10 * 3^2 = 90)
+        List<ServiceDetails> services = List.of(
+                new ServiceDetails("s1", "Service 1", 1),
+                new ServiceDetails("s2", "Service 2", 1),
+                new ServiceDetails("s3", "Service 3", 1));
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            volunteers.add(new Volunteer("v" + i, "Volunteer " + i, Map.of(1, "s1", 2, "s2")));
+        }
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+        assertEquals(91, optimum(problem), "0 + 1 + 90");
+        assertEquals(0, new LowerBound(0, 0).compute(problem), "The capacity-relaxed bound ignores the contention");
+        assertEquals(91, lowerBound.compute(problem));
+    }
+
+    @Test
+    void compute_ShouldNeverExceedTheOptimum() {
+        Random random = new Random(7);
+        for (int instance = 0; instance < 50; instance++) {
+            List<ServiceDetails> services = new ArrayList<>();
+            for (int s = 0; s < 3; s++) {
+                services.add(new ServiceDetails("s" + s, "Service " + s, 1 + random.nextInt(2)));
+            }
+            List<Volunteer> volunteers = new ArrayList<>();
+            for (int v = 0; v < 6; v++) {
+                Map<Integer, String> ranks = new HashMap<>();
+                int preferences = random.nextInt(3);
+                for (int rank = 1; rank <= preferences; rank++) {
+                    ranks.put(rank, "s" + random.nextInt(3));
+                }
+                volunteers.add(new Volunteer("v" + v, "Volunteer " + v, ranks));
+            }
+            AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+
+            double bound = lowerBound.compute(problem);
+            double optimum = optimum(problem);
+            assertTrue(bound <= optimum, "Instance " + instance + ": bound " + bound + " above optimum " + optimum);
+            assertTrue(bound >= new LowerBound(0, 0).compute(problem), "Subgradient steps only raise the bound");
+        }
+    }
+
+    @Test
+    void targetCost_ShouldFollowTheStopGap() {
+        assertEquals(100, new LowerBound(200, 0).targetCost(100));
+        assertEquals(125, new LowerBound(200, 0.2).targetCost(100), 1e-9);
+        assertEquals(Double.NEGATIVE_INFINITY, new LowerBound(200, -1).targetCost(100));
+        assertEquals(0.2, LowerBound.gap(125, 100), 1e-9);
+        assertEquals(0, LowerBound.gap(0, 0));
+    }
+
+    @Test
+    void island_ShouldStopOnceTheBoundIsReached() {
+        List<ServiceDetails> services = List.of(
+                new ServiceDetails("s1", "Service 1", 5),
+                new ServiceDetails("s2", "Service 2", 5));
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            volunteers.add(new Volunteer("v" + i, "Volunteer " + i, Map.of(1, i % 2 == 0 ? "s1" : "s2")));
+        }
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+        double bound = lowerBound.compute(problem);
+
+        try (Island island = new Island(problem, GaParameters.FIXED.withPopulationSize(20), false, FitnessEvaluator.SCALAR, CapacityRepair.CAPACITY,
+                new MemeticLocalSearch(false, 0, 0, 0), 0).stoppingAt(lowerBound.targetCost(bound))) {
+            int generations = island.evolve(GeneticAlgorithmService.MAX_GENERATIONS, GeneticAlgorithmService.NO_DEADLINE);
+
+            assertEquals(0, bound, "Everyone fits their first choice");
+            assertTrue(generations < GeneticAlgorithmService.MAX_GENERATIONS, "Stopped after " + generations + " generations");
+            assertEquals(0, island.bestCost());
+        }
+    }
+
+    // Exhaustive search over all plans
+    private static double optimum(AssignmentProblem problem) {
+        int[] genes = new int[problem.volunteerCount()];
+        double best = Double.MAX_VALUE;
+        int plans = (int) Math.pow(problem.serviceCount(), genes.length);
+        for (int plan = 0; plan < plans; plan++) {
+            int code = plan;
+            for (int v = 0; v < genes.length; v++) {
+                genes[v] = code % problem.serviceCount();
+                code /= problem.serviceCount();
+            }
+            best = Math.min(best, problem.totalCost(genes));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,58 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemeticLocalSearchTest {
+
+    private final MemeticLocalSearch localSearch = new MemeticLocalSearch(true, 1000, 0, 2);
+
+    @Test
+    void improve_ShouldSwapVolunteersWhoPreferEachOthersService() {
+        // Both services are full, so no single move helps; only the swap does
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1), new ServiceDetails("s2", "Service 2", 1));
+        List<Volunteer> volunteers = List.of(
+                new Volunteer("v1", "Volunteer 1", Map.of(1, "s1", 2, "s2")),
+                new Volunteer("v2", "Volunteer 2", Map.of(1, "s2", 2, "s1")));
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+        int[] genes = {1, 0};
+
+        double cost = localSearch.improve(problem, genes, 1_000_000_000L);
+
+        assertArrayEquals(new int[]{0, 1}, genes);
+        assertEquals(0, cost);
+    }
+
+    @Test
+    void improve_ShouldMoveVolunteerIntoFreePreferredService() {
+        List<ServiceDetails> services = List.of(new ServiceDetails("s1", "Service 1", 1), new ServiceDetails("s2", "Service 2", 3));
+        List<Volunteer> volunteers = List.of(new Volunteer("v1", "Volunteer 1", Map.of(1, "s2")));
+        AssignmentProblem problem = new AssignmentProblem(volunteers, services);
+        int[] genes = {0};
+
+        assertEquals(0, localSearch.improve(problem, genes, 1_000_000_000L));
+        assertArrayEquals(new int[]{1}, genes);
+    }
+
+    @Test
+    void improve_ShouldNeverIncreaseCost() {
+        AssignmentProblem problem = FitnessEvaluatorTest.randomProblem(300, 12, 11);
+        try (GeneMatrix population = GeneMatrix.allocate(5, problem.volunteerCount(), false)) {
+            FitnessEvaluatorTest.fillRandom(population, problem.serviceCount(), 13);
+            int[] genes = new int[problem.volunteerCount()];
+            for (int row = 0; row < population.rows(); row++) {
+                population.readRow(row, genes);
+                double before = problem.totalCost(genes);
+                double after = localSearch.improve(problem, genes, 1_000_000_000L);
+                assertTrue(after <= before);
+                assertEquals(problem.totalCost(genes), after);
+            }
+        }
+    }
+}
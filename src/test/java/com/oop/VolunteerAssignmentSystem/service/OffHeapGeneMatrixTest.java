@@ -0,0 +1,25 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGeneMatrixTest {
+
+    @Test
+    void pool_ShouldOnlyReuseBuffersAtMostTwiceTheRequestedSize() {
+        int columns = 100_003; // Unusual sizes, so buffers pooled by other tests do not fit
+        new OffHeapGeneMatrix(1, columns).close();
+        long pooled = OffHeapGeneMatrix.pooledBytes();
+
+        try (OffHeapGeneMatrix small = new OffHeapGeneMatrix(1, columns / 2 - 1)) {
+            assertEquals(pooled, OffHeapGeneMatrix.pooledBytes(), "Less than half the pooled buffer: allocate a new one");
+        }
+        long withSmall = OffHeapGeneMatrix.pooledBytes();
+        try (OffHeapGeneMatrix half = new OffHeapGeneMatrix(1, columns / 2 + 1)) {
+            assertEquals(withSmall - (long) columns * Integer.BYTES, OffHeapGeneMatrix.pooledBytes());
+            half.set(0, columns / 2, 7);
+            assertEquals(7, half.get(0, columns / 2));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationSchedulerTest {
+
+    @Test
+    void submit_ShouldAlternateBetweenEvents() throws Exception {
+        OptimizationScheduler scheduler = new OptimizationScheduler(1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            CompletableFuture<?> a1 = scheduler.submit("big", () -> {
+                await(release);
+                return order.add("big-1");
+            });
+            CompletableFuture<?> a2 = scheduler.submit("big", () -> order.add("big-2"));
+            CompletableFuture<?> a3 = scheduler.submit("big", () -> order.add("big-3"));
+            CompletableFuture<?> b1 = scheduler.submit("small", () -> order.add("small-1"));
+            release.countDown();
+            CompletableFuture.allOf(a1, a2, a3, b1).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("big-1", "big-2", "small-1", "big-3"), order);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ShouldKeepAWorkerFreeForOtherEvents() throws Exception {
+        OptimizationScheduler scheduler = new OptimizationScheduler(2, 0); // At most 1 worker per event
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<?> a1 = scheduler.submit("big", () -> await(release));
+            CompletableFuture<?> a2 = scheduler.submit("big", () -> await(release));
+            CompletableFuture<String> b1 = scheduler.submit("small", () -> "done");
+
+            assertEquals("done", b1.get(5, TimeUnit.SECONDS), "Small event runs while the big one holds its share");
+            assertFalse(a2.isDone());
+            release.countDown();
+            CompletableFuture.allOf(a1, a2).get(5, TimeUnit.SECONDS);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ShouldCompleteExceptionally_WhenTaskFails() {
+        OptimizationScheduler scheduler = new OptimizationScheduler(1, 0);
+        try {
+            CompletableFuture<Object> failing = scheduler.submit("event", () -> {
+                throw new IllegalStateException("boom");
+            });
+            Exception e = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
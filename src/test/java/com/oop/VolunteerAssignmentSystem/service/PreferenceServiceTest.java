@@ -2,13 +2,15 @@ package com.oop.VolunteerAssignmentSystem.service;
 
 import com.oop.VolunteerAssignmentSystem.model.Preference;
 import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
 import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
 import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,11 +26,12 @@ class PreferenceServiceTest {
     @Mock
     private InMemoryServiceRepository serviceRepository;
 
-    @InjectMocks
     private PreferenceService preferenceService;
 
     public PreferenceServiceTest() {
         MockitoAnnotations.openMocks(this);
+        EventRepositoryRegistry registry = new EventRepositoryRegistry(serviceRepository, preferenceRepository);
+        preferenceService = new PreferenceService(registry, new SubmissionLogSummary(0), newUnbatchedWriter(registry));
     }
 
     @Test
@@ -94,4 +97,12 @@ class PreferenceServiceTest {
         verify(preferenceRepository).save(volunteerId, preference);
         verify(serviceRepository).findById("service1");
     }
-}
\ No newline at end of file
+
+    private static PreferenceWriteBatcher newUnbatchedWriter(EventRepositoryRegistry registry) {
+        try {
+            return new PreferenceWriteBatcher(registry, false, 1, "", false, 1 << 20);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
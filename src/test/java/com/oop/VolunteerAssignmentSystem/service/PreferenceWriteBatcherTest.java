@@ -0,0 +1,185 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.Preference;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositories;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class PreferenceWriteBatcherTest {
+
+    private static EventRepositoryRegistry newRegistry() {
+        InMemoryServiceRepository serviceRepository = new InMemoryServiceRepository();
+        return new EventRepositoryRegistry(serviceRepository, new InMemoryPreferenceRepository(serviceRepository));
+    }
+
+    private static Preference preference(String... rankedServiceIds) {
+        Preference preference = new Preference();
+        preference.setRankedServiceIds(List.of(rankedServiceIds));
+        return preference;
+    }
+
+    @Test
+    void concurrentSubmissions_ShouldAllBeStoredWithOneVersionPerBatch() throws Exception {
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 256, "", false, 1 << 20);
+        long versionBefore = repositories.preferenceRepository().getVersion();
+
+        List<CompletableFuture<Void>> acknowledgements = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<CompletableFuture<Void>>> submitted = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                String volunteerId = "burst" + i;
+                submitted.add(CompletableFuture.supplyAsync(
+                        () -> batcher.submit(repositories, volunteerId, preference("service1", "service2")), callers));
+            }
+            for (CompletableFuture<CompletableFuture<Void>> submission : submitted) {
+                acknowledgements.add(submission.get(5, TimeUnit.SECONDS));
+            }
+        }
+        CompletableFuture.allOf(acknowledgements.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        Map<String, Volunteer> stored = repositories.preferenceRepository().findAllVolunteersWithPreferences();
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(Map.of(1, "service1", 2, "service2"), stored.get("burst" + i).getPreferredServicesRanks());
+        }
+        long versions = repositories.preferenceRepository().getVersion() - versionBefore;
+        assertTrue(versions >= 1 && versions <= 2_000, "One version per applied batch, got " + versions);
+        batcher.shutdown();
+    }
+
+    @Test
+    void journal_ShouldBeReplayedIntoFreshRepositories(@TempDir Path directory) throws Exception {
+        String journal = directory.resolve("preferences.journal").toString();
+        EventRepositoryRegistry registry = newRegistry();
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 64, journal, true, 1 << 20);
+        registry.createEvent("spring-fair");
+        batcher.submit(registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT), "alice", preference("service3")).get(5, TimeUnit.SECONDS);
+        batcher.submit(registry.forEvent("spring-fair"), "bob", preference("service1", "service4")).get(5, TimeUnit.SECONDS);
+        batcher.submit(registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT), "alice", preference("service5")).get(5, TimeUnit.SECONDS);
+        batcher.shutdown();
+
+        EventRepositoryRegistry restarted = newRegistry();
+        PreferenceWriteBatcher replaying = new PreferenceWriteBatcher(restarted, true, 64, journal, true, 1 << 20);
+
+        assertEquals(Map.of(1, "service5"), restarted.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository()
+                .findById("alice").orElseThrow().getPreferredServicesRanks(), "The later submission wins");
+        assertEquals(Map.of(1, "service1", 2, "service4"), restarted.forEvent("spring-fair").preferenceRepository()
+                .findById("bob").orElseThrow().getPreferredServicesRanks());
+        replaying.shutdown();
+    }
+
+    @Test
+    void journal_ShouldBeCompactedToTheLatestSubmissions(@TempDir Path directory) throws Exception {
+        Path journal = directory.resolve("preferences.journal");
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 64, journal.toString(), false, 256);
+        for (int i = 0; i < 500; i++) {
+            batcher.submit(repositories, "dave" + (i % 3), preference("service" + (i % 5 + 1))).get(5, TimeUnit.SECONDS);
+        }
+        batcher.shutdown();
+
+        assertTrue(Files.size(journal) < 512, "Compacted to about the 3 latest lines, got " + Files.size(journal) + " bytes");
+        EventRepositoryRegistry restarted = newRegistry();
+        PreferenceWriteBatcher replaying = new PreferenceWriteBatcher(restarted, true, 64, journal.toString(), false, 256);
+        Map<String, Volunteer> replayed = restarted.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository()
+                .findAllVolunteersWithPreferences();
+        assertEquals(Map.of(1, "service3"), replayed.get("dave2").getPreferredServicesRanks()); // i = 497
+        assertEquals(Map.of(1, "service4"), replayed.get("dave0").getPreferredServicesRanks()); // i = 498
+        assertEquals(Map.of(1, "service5"), replayed.get("dave1").getPreferredServicesRanks()); // i = 499
+        replaying.shutdown();
+    }
+
+    @Test
+    void shutdown_ShouldApplyEverythingAlreadyAccepted() throws Exception {
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 8, "", false, 1 << 20);
+        List<CompletableFuture<Void>> acknowledgements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            acknowledgements.add(batcher.submit(repositories, "erin" + i, preference("service1")));
+        }
+
+        batcher.shutdown();
+
+        for (CompletableFuture<Void> acknowledgement : acknowledgements) {
+            assertTrue(acknowledgement.isDone() && !acknowledgement.isCompletedExceptionally());
+        }
+        assertTrue(batcher.submit(repositories, "late", preference("service1")).isCompletedExceptionally());
+    }
+
+    @Test
+    void submissionsRacingShutdown_ShouldAllBeAnswered() throws Exception {
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 8, "", false, 1 << 20);
+        List<CompletableFuture<CompletableFuture<Void>>> submitted = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                String volunteerId = "frank" + i;
+                submitted.add(CompletableFuture.supplyAsync(
+                        () -> batcher.submit(repositories, volunteerId, preference("service1")), callers));
+            }
+            batcher.shutdown();
+        }
+
+        for (CompletableFuture<CompletableFuture<Void>> submission : submitted) {
+            CompletableFuture<Void> acknowledgement = submission.get(5, TimeUnit.SECONDS);
+            assertTrue(acknowledgement.isDone(), "Accepted before shutdown means applied, otherwise rejected");
+        }
+    }
+
+    @Test
+    void journaledSubmission_ShouldBeAcknowledgedAndReplayedEvenIfApplyingItFails(@TempDir Path directory) throws Exception {
+        String journal = directory.resolve("preferences.journal").toString();
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        InMemoryPreferenceRepository failing = spy(repositories.preferenceRepository());
+        doThrow(new IllegalStateException("boom")).when(failing).saveAll(anyMap());
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 64, journal, true, 1 << 20);
+
+        batcher.submit(new EventRepositories(repositories.eventId(), repositories.serviceRepository(), failing),
+                "grace", preference("service2")).get(5, TimeUnit.SECONDS);
+        batcher.shutdown();
+
+        EventRepositoryRegistry restarted = newRegistry();
+        PreferenceWriteBatcher replaying = new PreferenceWriteBatcher(restarted, true, 64, journal, true, 1 << 20);
+        assertEquals(Map.of(1, "service2"), restarted.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository()
+                .findById("grace").orElseThrow().getPreferredServicesRanks());
+        replaying.shutdown();
+    }
+
+    @Test
+    void savedVolunteer_ShouldNotChangeInEarlierSnapshots() throws Exception {
+        EventRepositoryRegistry registry = newRegistry();
+        EventRepositories repositories = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT);
+        PreferenceWriteBatcher batcher = new PreferenceWriteBatcher(registry, true, 64, "", false, 1 << 20);
+        batcher.submit(repositories, "carol", preference("service1")).get(5, TimeUnit.SECONDS);
+        Map<String, Volunteer> snapshot = repositories.preferenceRepository().findAllVolunteersWithPreferences();
+
+        batcher.submit(repositories, "carol", preference("service2")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Map.of(1, "service1"), snapshot.get("carol").getPreferredServicesRanks());
+        batcher.shutdown();
+    }
+}
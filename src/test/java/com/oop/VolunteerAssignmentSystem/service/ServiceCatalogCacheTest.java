@@ -0,0 +1,83 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oop.VolunteerAssignmentSystem.model.Preference;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.model.Volunteer;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceCatalogCacheTest {
+
+    private final InMemoryServiceRepository serviceRepository = new InMemoryServiceRepository();
+    private final EventRepositoryRegistry registry =
+            new EventRepositoryRegistry(serviceRepository, new InMemoryPreferenceRepository(serviceRepository));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ServiceCatalogCache catalogCache = new ServiceCatalogCache(registry, objectMapper);
+
+    @Test
+    void catalog_ShouldBeReusedUntilAServiceChanges() throws Exception {
+        ServiceCatalogCache.CatalogPayload first = catalogCache.catalog(EventRepositoryRegistry.DEFAULT_EVENT);
+        ServiceCatalogCache.CatalogPayload second = catalogCache.catalog(EventRepositoryRegistry.DEFAULT_EVENT);
+
+        assertSame(first.json(), second.json(), "Unchanged catalog is not serialized again");
+        assertEquals(first.etag(), second.etag());
+        assertEquals(10, objectMapper.readTree(first.json()).size());
+
+        serviceRepository.save(new ServiceDetails("service11", "Service 11", 4));
+        ServiceCatalogCache.CatalogPayload changed = catalogCache.catalog(EventRepositoryRegistry.DEFAULT_EVENT);
+
+        assertEquals(first.version() + 1, changed.version());
+        assertNotEquals(first.etag(), changed.etag());
+        assertEquals(11, objectMapper.readTree(changed.json()).size());
+    }
+
+    @Test
+    void initialDataEtag_ShouldChangeWithOwnPreferencesAndCatalog() {
+        String etag = catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer1", true);
+        String otherEtag = catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer2", true);
+        assertEquals(etag, catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer1", true));
+        assertNotEquals(etag, catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer1", false));
+
+        Preference preference = new Preference();
+        preference.setRankedServiceIds(List.of("service2"));
+        registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository().save("volunteer1", preference);
+        String afterSubmission = catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer1", true);
+        assertNotEquals(etag, afterSubmission);
+        assertEquals(otherEtag, catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer2", true),
+                "Another volunteer's submission leaves the ETag alone");
+
+        serviceRepository.save(new ServiceDetails("service11", "Service 11", 4));
+        assertNotEquals(afterSubmission, catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer1", true));
+        assertNotEquals(otherEtag, catalogCache.initialDataEtag(EventRepositoryRegistry.DEFAULT_EVENT, "volunteer2", true));
+    }
+
+    @Test
+    void catalog_ShouldBeKeptPerEvent() {
+        registry.createEvent("spring-fair");
+        registry.forEvent("spring-fair").serviceRepository().save(new ServiceDetails("stage", "Stage", 8));
+
+        assertNotEquals(catalogCache.catalog(EventRepositoryRegistry.DEFAULT_EVENT).etag(), catalogCache.catalog("spring-fair").etag());
+        assertEquals(0, catalogCache.catalog(EventRepositoryRegistry.DEFAULT_EVENT).version());
+    }
+
+    @Test
+    void initialData_ShouldMatchTheSerializedMap() throws Exception {
+        Volunteer volunteer = new Volunteer("v1", "Volunteer 1", Map.of(1, "service2"));
+
+        JsonNode spliced = objectMapper.readTree(catalogCache.initialData(EventRepositoryRegistry.DEFAULT_EVENT, volunteer, true));
+        JsonNode expected = objectMapper.valueToTree(Map.of("volunteer", volunteer, "services", serviceRepository.findAll()));
+
+        assertEquals(expected, spliced);
+        JsonNode volunteerOnly = objectMapper.readTree(catalogCache.initialData(EventRepositoryRegistry.DEFAULT_EVENT, volunteer, false));
+        assertEquals(objectMapper.valueToTree(Map.of("volunteer", volunteer)), volunteerOnly);
+    }
+}
@@ -0,0 +1,113 @@
+package com.oop.VolunteerAssignmentSystem.service;
+
+import com.oop.VolunteerAssignmentSystem.model.Preference;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDemand;
+import com.oop.VolunteerAssignmentSystem.model.ServiceDetails;
+import com.oop.VolunteerAssignmentSystem.repository.EventRepositoryRegistry;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryPreferenceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.InMemoryServiceRepository;
+import com.oop.VolunteerAssignmentSystem.repository.ServiceDemandIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceDemandTest {
+
+    private static final String EVENT = "demand-test";
+
+    private final InMemoryServiceRepository defaultServices = new InMemoryServiceRepository();
+    private final EventRepositoryRegistry registry =
+            new EventRepositoryRegistry(defaultServices, new InMemoryPreferenceRepository(defaultServices));
+    private final InMemoryPreferenceRepository preferenceRepository;
+
+    // A created event starts empty, so the demand below is exactly what the tests submit
+    ServiceDemandTest() {
+        registry.createEvent(EVENT);
+        InMemoryServiceRepository services = registry.forEvent(EVENT).serviceRepository();
+        for (int i = 1; i <= 4; i++) {
+            services.save(new ServiceDetails("service" + i, "Service " + i, 2));
+        }
+        preferenceRepository = registry.forEvent(EVENT).preferenceRepository();
+    }
+
+    private void save(String volunteerId, String... rankedServiceIds) {
+        Preference preference = new Preference();
+        preference.setRankedServiceIds(List.of(rankedServiceIds));
+        preferenceRepository.save(volunteerId, preference);
+    }
+
+    // Demand recomputed by scanning every volunteer, as coordinators had to do before the index
+    private Map<String, Map<Integer, Integer>> scannedDemand() {
+        Map<String, Map<Integer, Integer>> demand = new HashMap<>();
+        preferenceRepository.findAllVolunteersWithPreferences().values().forEach(volunteer ->
+                volunteer.getPreferredServicesRanks().forEach((rank, serviceId) ->
+                        demand.computeIfAbsent(serviceId, id -> new TreeMap<>()).merge(rank, 1, Integer::sum)));
+        return demand;
+    }
+
+    @Test
+    void index_ShouldFollowSavesAndResubmissions() {
+        ServiceDemandIndex index = preferenceRepository.getDemandIndex();
+        InMemoryPreferenceRepository dummyData = registry.forEvent(EventRepositoryRegistry.DEFAULT_EVENT).preferenceRepository();
+        Map<String, Map<Integer, Integer>> dummyDemand = new HashMap<>();
+        dummyData.findAllVolunteersWithPreferences().values().forEach(volunteer ->
+                volunteer.getPreferredServicesRanks().forEach((rank, serviceId) ->
+                        dummyDemand.computeIfAbsent(serviceId, id -> new TreeMap<>()).merge(rank, 1, Integer::sum)));
+        assertEquals(dummyDemand, dummyData.getDemandIndex().snapshot().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().volunteersByRank())), "Dummy data is indexed");
+
+        save("alice", "service1", "service2");
+        save("bob", "service1");
+        save("alice", "service3"); // Resubmission replaces alice's earlier ranking
+
+        assertTrue(index.volunteersRanking("service1").contains("bob"));
+        assertFalse(index.volunteersRanking("service1").contains("alice"));
+        assertFalse(index.volunteersRanking("service2").contains("alice"));
+        assertTrue(index.volunteersRanking("service3").contains("alice"));
+        assertEquals(scannedDemand(), index.snapshot().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().volunteersByRank())));
+    }
+
+    @Test
+    void serviceDemand_ShouldFlagServicesWithMoreFirstChoicesThanCapacity() {
+        PreferenceService preferenceService = new PreferenceService(registry, new SubmissionLogSummary(0),
+                newUnbatchedWriter());
+        for (int i = 0; i < 5; i++) {
+            save("fan" + i, "service1", "service2"); // 3 first choices above capacity
+        }
+        save("regular1", "service3");
+        save("regular2", "service3");
+        save("regular3", "service3"); // 1 above capacity
+
+        List<ServiceDemand> demand = preferenceService.getServiceDemand(EVENT);
+        Map<String, ServiceDemand> byService = demand.stream().collect(Collectors.toMap(ServiceDemand::getServiceId, Function.identity()));
+
+        assertEquals(List.of("service1", "service3", "service2", "service4"), demand.stream().map(ServiceDemand::getServiceId).toList(),
+                "Most oversubscribed first, then by volunteers ranking the service; unranked services are listed too");
+        assertTrue(byService.get("service1").isOversubscribed());
+        assertTrue(byService.get("service3").isOversubscribed());
+        assertFalse(byService.get("service2").isOversubscribed());
+        ServiceDemandIndex.Demand indexed = preferenceRepository.getDemandIndex().demand("service1");
+        assertEquals(indexed.atRank(1), byService.get("service1").getVolunteersByRank().get(1));
+        assertEquals(indexed.volunteers(), byService.get("service1").getVolunteers());
+        byService.values().forEach(service -> assertEquals(
+                service.getVolunteersByRank().getOrDefault(1, 0) > service.getMaxVolunteers(), service.isOversubscribed()));
+    }
+
+    private PreferenceWriteBatcher newUnbatchedWriter() {
+        try {
+            return new PreferenceWriteBatcher(registry, false, 1, "", false, 1 << 20);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}